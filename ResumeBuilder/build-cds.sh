@@ -0,0 +1,17 @@
+#!/bin/sh
+# Compiles Resume Builder, packages it as a jar and records an AppCDS archive
+# covering the app and every jar in lib/ from a headless warm-up run.
+set -e
+cd "$(dirname "$0")"
+
+LIB_CP=$(ls lib/*.jar | tr '\n' ':')
+mkdir -p build/classes
+javac -d build/classes -cp "$LIB_CP" $(find src/main/java -name '*.java')
+jar cf build/resumebuilder.jar -C build/classes .
+
+# CDS only archives classes loaded from jars, so the app runs from the packaged jar
+CP="build/resumebuilder.jar:$LIB_CP"
+java -Djava.awt.headless=true -XX:ArchiveClassesAtExit=build/resumebuilder.jsa -cp "$CP" com.resumebuilder.Main --warmup
+
+echo "Archive written to build/resumebuilder.jsa. Launch with:"
+echo "  java -XX:SharedArchiveFile=build/resumebuilder.jsa -cp \"$CP\" com.resumebuilder.Main"
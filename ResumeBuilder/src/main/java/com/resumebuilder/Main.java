@@ -1,9 +1,73 @@
 package com.resumebuilder;
 
+import com.resumebuilder.controller.BatchRunner;
+import com.resumebuilder.controller.BuildManifestCheck;
+import com.resumebuilder.controller.ComplexityBenchmark;
+import com.resumebuilder.controller.FolderWatcher;
+import com.resumebuilder.controller.PageRasterizer;
+import com.resumebuilder.controller.PdfGenerator;
+import com.resumebuilder.controller.PdfWarmup;
+import com.resumebuilder.controller.PreviewDiffCheck;
+import com.resumebuilder.controller.PreviewMemoryCheck;
+import com.resumebuilder.controller.ProfileImageCheck;
 import com.resumebuilder.controller.ResumeController;
+import com.resumebuilder.controller.ScalabilityBenchmark;
+import com.resumebuilder.controller.ShardedBatchCheck;
 
 public class Main {
-    public static void main(String[] args) {
+    public static void main(String[] args) throws Exception {
+        if (args.length > 0 && "--warmup".equals(args[0])) {
+            // Headless training run used by build-cds.sh to record the class-data-sharing archive
+            System.setProperty("java.awt.headless", "true");
+            // Cold render time of every template from a fresh JVM, the headless counterpart of time to first preview
+            long start = System.nanoTime();
+            PdfWarmup.run(new PdfGenerator(), new PageRasterizer());
+            System.out.printf("Cold render of every template: %d ms%n", (System.nanoTime() - start) / 1_000_000);
+            return;
+        }
+        if (ScalabilityBenchmark.isBenchmarkInvocation(args)) {
+            System.setProperty("java.awt.headless", "true");
+            ScalabilityBenchmark.Options options = ScalabilityBenchmark.Options.parse(args);
+            System.exit(new ScalabilityBenchmark(new PdfGenerator(), options).run());
+        }
+        if (ComplexityBenchmark.isBenchmarkInvocation(args)) {
+            System.setProperty("java.awt.headless", "true");
+            ComplexityBenchmark.Options options = ComplexityBenchmark.Options.parse(args);
+            System.exit(new ComplexityBenchmark(new PdfGenerator(), options).run());
+        }
+        if (PreviewMemoryCheck.isCheckInvocation(args)) {
+            System.setProperty("java.awt.headless", "true");
+            PreviewMemoryCheck.Options options = PreviewMemoryCheck.Options.parse(args);
+            System.exit(new PreviewMemoryCheck(new PdfGenerator(), options).run());
+        }
+        if (PreviewDiffCheck.isCheckInvocation(args)) {
+            System.setProperty("java.awt.headless", "true");
+            PreviewDiffCheck.Options options = PreviewDiffCheck.Options.parse(args);
+            System.exit(new PreviewDiffCheck(new PdfGenerator(), options).run());
+        }
+        if (ShardedBatchCheck.isCheckInvocation(args)) {
+            ShardedBatchCheck.Options options = ShardedBatchCheck.Options.parse(args);
+            System.exit(new ShardedBatchCheck(options).run());
+        }
+        if (BuildManifestCheck.isCheckInvocation(args)) {
+            BuildManifestCheck.Options options = BuildManifestCheck.Options.parse(args);
+            System.exit(new BuildManifestCheck(options).run());
+        }
+        if (ProfileImageCheck.isCheckInvocation(args)) {
+            System.setProperty("java.awt.headless", "true");
+            ProfileImageCheck.Options options = ProfileImageCheck.Options.parse(args);
+            System.exit(new ProfileImageCheck(options).run());
+        }
+        if (FolderWatcher.isWatchInvocation(args)) {
+            System.setProperty("java.awt.headless", "true");
+            FolderWatcher.Options options = FolderWatcher.Options.parse(args);
+            System.exit(new FolderWatcher(new PdfGenerator(), options).run());
+        }
+        if (BatchRunner.isBatchInvocation(args)) {
+            System.setProperty("java.awt.headless", "true");
+            BatchRunner.Options options = BatchRunner.Options.parse(args);
+            System.exit(new BatchRunner(new PdfGenerator(), options).run());
+        }
         javax.swing.SwingUtilities.invokeLater(() -> new ResumeController());
     }
 }
\ No newline at end of file
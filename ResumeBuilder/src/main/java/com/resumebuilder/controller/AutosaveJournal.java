@@ -0,0 +1,184 @@
+package com.resumebuilder.controller;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// Autosave for in-progress edits. Field changes are appended to a journal on a background thread as
+// [int keyLength][key UTF-8][int valueLength][value UTF-8] records; the journal is folded into a
+// snapshot with the same layout once it grows, and recovery reads the snapshot then replays the journal.
+public class AutosaveJournal {
+    private static final int COMPACT_AFTER_RECORDS = 500;
+
+    private final Path snapshotFile;
+    private final Path journalFile;
+    private final ExecutorService writer;
+    private final Map<String, String> pending = new LinkedHashMap<>();
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+
+    // Only touched on the writer thread
+    private final Map<String, String> state = new LinkedHashMap<>();
+    private OutputStream journal;
+    private int journalRecords;
+
+    public AutosaveJournal(Path directory) {
+        this.snapshotFile = directory.resolve("autosave.snapshot");
+        this.journalFile = directory.resolve("autosave.journal");
+        this.writer = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "autosave-journal");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public static Path defaultDirectory() {
+        String configured = System.getProperty("resumebuilder.autosave.dir");
+        if (configured != null) {
+            return Paths.get(configured);
+        }
+        return Paths.get(System.getProperty("user.home"), ".resumebuilder", "autosave");
+    }
+
+    // Reads the last saved field values; call once at launch before any changes are recorded
+    public Map<String, String> recover() throws IOException {
+        Map<String, String> fields = new LinkedHashMap<>();
+        readRecords(snapshotFile, fields);
+        readRecords(journalFile, fields);
+        state.putAll(fields);
+        // Fold the replayed journal into the snapshot so a torn tail never sits in front of new appends
+        if (Files.exists(journalFile) && Files.size(journalFile) > 0) {
+            compact();
+        }
+        return fields;
+    }
+
+    // Called on the EDT for every edit: only queues the latest value per field and returns immediately
+    public void recordChange(String key, String value) {
+        synchronized (pending) {
+            pending.put(key, value);
+        }
+        if (flushScheduled.compareAndSet(false, true)) {
+            writer.execute(this::flushPending);
+        }
+    }
+
+    public void close() {
+        writer.execute(() -> {
+            flushPending();
+            try {
+                if (journal != null) {
+                    journal.close();
+                    journal = null;
+                }
+            } catch (IOException e) {
+                System.err.println("Autosave close failed: " + e.getMessage());
+            }
+        });
+        writer.shutdown();
+        try {
+            writer.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void flushPending() {
+        flushScheduled.set(false);
+        Map<String, String> batch;
+        synchronized (pending) {
+            if (pending.isEmpty()) return;
+            batch = new LinkedHashMap<>(pending);
+            pending.clear();
+        }
+        try {
+            if (journal == null) {
+                Files.createDirectories(journalFile.getParent());
+                journal = Files.newOutputStream(journalFile, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            }
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            DataOutputStream records = new DataOutputStream(bytes);
+            for (Map.Entry<String, String> entry : batch.entrySet()) {
+                writeRecord(records, entry.getKey(), entry.getValue());
+            }
+            journal.write(bytes.toByteArray());
+            journal.flush();
+            state.putAll(batch);
+            journalRecords += batch.size();
+            if (journalRecords >= COMPACT_AFTER_RECORDS) {
+                compact();
+            }
+        } catch (IOException e) {
+            System.err.println("Autosave failed: " + e.getMessage());
+        }
+    }
+
+    // Writes the current state as a new snapshot (temp file + atomic move), then starts an empty journal
+    private void compact() throws IOException {
+        Files.createDirectories(snapshotFile.getParent());
+        Path temp = snapshotFile.resolveSibling(snapshotFile.getFileName() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(Files.newOutputStream(temp))) {
+            for (Map.Entry<String, String> entry : state.entrySet()) {
+                writeRecord(out, entry.getKey(), entry.getValue());
+            }
+        }
+        Files.move(temp, snapshotFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        if (journal != null) {
+            journal.close();
+        }
+        journal = Files.newOutputStream(journalFile, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+        journalRecords = 0;
+    }
+
+    private static void writeRecord(DataOutputStream out, String key, String value) throws IOException {
+        byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+        byte[] valueBytes = (value == null ? "" : value).getBytes(StandardCharsets.UTF_8);
+        out.writeInt(keyBytes.length);
+        out.write(keyBytes);
+        out.writeInt(valueBytes.length);
+        out.write(valueBytes);
+    }
+
+    // Returns the number of complete records; a torn record at the end of the file is ignored
+    private static int readRecords(Path file, Map<String, String> fields) throws IOException {
+        if (!Files.exists(file)) return 0;
+        int count = 0;
+        try (InputStream raw = Files.newInputStream(file);
+             DataInputStream in = new DataInputStream(new BufferedInputStream(raw))) {
+            while (true) {
+                byte[] key = readBlock(in);
+                byte[] value = readBlock(in);
+                fields.put(new String(key, StandardCharsets.UTF_8), new String(value, StandardCharsets.UTF_8));
+                count++;
+            }
+        } catch (EOFException e) {
+            return count;
+        }
+    }
+
+    private static byte[] readBlock(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length < 0 || length > 64 * 1024 * 1024) {
+            throw new EOFException("Corrupt record length " + length);
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return bytes;
+    }
+}
@@ -0,0 +1,165 @@
+package com.resumebuilder.controller;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Write-ahead checkpoint log for batch runs, one line per event: "DONE <id>" once a record's output is
+// in place, "FAIL <id> <attempt>" after a failed attempt. Each line goes out in a single append, and an
+// unterminated last line (crash mid-write) is ignored on load. The first line, "JOB <description>", names the
+// input and output settings; a log of any other job is refused, so its DONE lines can't skip records of this one. Records that exhaust their attempts are
+// written to a dead-letter file next to the log, with the error and the original input line.
+public class BatchCheckpoint implements AutoCloseable {
+    private static final int SYNC_EVERY = 64;
+
+    private final FileChannel log;
+    private final FileChannel deadLetters;
+    private final int maxAttempts;
+    private final Map<String, Boolean> done = new ConcurrentHashMap<>();
+    private final Map<String, Integer> attempts = new ConcurrentHashMap<>();
+    private int unsynced;
+
+    public BatchCheckpoint(Path file, int maxAttempts, String job) throws IOException {
+        this.maxAttempts = maxAttempts;
+        boolean bound = load(file, job);
+        this.log = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        if (!bound) {
+            append(log, "JOB " + key(job) + "\n");
+            log.force(false);
+        }
+        this.deadLetters = FileChannel.open(file.resolveSibling(file.getFileName() + ".dead"), StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+
+    public int getMaxAttempts() {
+        return maxAttempts;
+    }
+
+    public boolean isDone(String id) {
+        return done.containsKey(key(id));
+    }
+
+    public int getAttempts(String id) {
+        return attempts.getOrDefault(key(id), 0);
+    }
+
+    public int getDoneCount() {
+        return done.size();
+    }
+
+    // Call only after the output has been moved into place, so DONE never refers to a missing file
+    public synchronized void markDone(String id) throws IOException {
+        append(log, "DONE " + key(id) + "\n");
+        done.put(key(id), Boolean.TRUE);
+        if (++unsynced >= SYNC_EVERY) {
+            log.force(false);
+            unsynced = 0;
+        }
+    }
+
+    public synchronized void markFailed(String id, int attempt) throws IOException {
+        append(log, "FAIL " + key(id) + " " + attempt + "\n");
+        attempts.put(key(id), attempt);
+        log.force(false);
+    }
+
+    public synchronized void deadLetter(String id, int attempt, Exception error, String inputLine) throws IOException {
+        StringWriter trace = new StringWriter();
+        error.printStackTrace(new PrintWriter(trace));
+        String line = "{\"id\":" + quote(id)
+                + ",\"attempts\":" + attempt
+                + ",\"error\":" + quote(error.toString())
+                + ",\"stackTrace\":" + quote(trace.toString())
+                + ",\"record\":" + (inputLine == null ? "null" : quote(inputLine)) + "}\n";
+        append(deadLetters, line);
+        deadLetters.force(false);
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        log.force(false);
+        log.close();
+        deadLetters.close();
+    }
+
+    // Returns false when there is no job line yet (a new log, or one torn before its first line was complete)
+    private boolean load(Path file, String job) throws IOException {
+        if (!Files.exists(file)) return false;
+        String content = new String(Files.readAllBytes(file), StandardCharsets.UTF_8);
+        int newline = content.indexOf('\n');
+        if (newline < 0) {
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+                channel.truncate(0);
+            }
+            return false;
+        }
+        String header = content.substring(0, newline);
+        if (!header.equals("JOB " + key(job))) {
+            String existing = header.startsWith("JOB ") ? header.substring(4) : "no job recorded";
+            throw new IllegalArgumentException("Checkpoint " + file + " belongs to another run (" + existing
+                    + "); use a new checkpoint file or delete this one");
+        }
+        int lineStart = newline + 1;
+        while ((newline = content.indexOf('\n', lineStart)) >= 0) {
+            String line = content.substring(lineStart, newline);
+            lineStart = newline + 1;
+            if (line.startsWith("DONE ")) {
+                done.put(line.substring(5), Boolean.TRUE);
+            } else if (line.startsWith("FAIL ")) {
+                int lastSpace = line.lastIndexOf(' ');
+                try {
+                    attempts.put(line.substring(5, lastSpace), Integer.parseInt(line.substring(lastSpace + 1)));
+                } catch (RuntimeException e) {
+                    // Skip a malformed line rather than refusing to resume
+                }
+            }
+        }
+        if (lineStart < content.length()) {
+            // Drop the torn tail so new lines don't get glued onto it
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+                channel.truncate(content.substring(0, lineStart).getBytes(StandardCharsets.UTF_8).length);
+            }
+        }
+        return true;
+    }
+
+    // Ids are written one per line, so line breaks inside an id are flattened
+    private static String key(String id) {
+        return id.replace('\n', ' ').replace('\r', ' ');
+    }
+
+    private static void append(FileChannel channel, String line) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(line.getBytes(StandardCharsets.UTF_8));
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    private static String quote(String value) {
+        StringBuilder quoted = new StringBuilder(value.length() + 2).append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"': quoted.append("\\\""); break;
+                case '\\': quoted.append("\\\\"); break;
+                case '\n': quoted.append("\\n"); break;
+                case '\r': quoted.append("\\r"); break;
+                case '\t': quoted.append("\\t"); break;
+                default:
+                    if (c < 0x20) {
+                        quoted.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        quoted.append(c);
+                    }
+            }
+        }
+        return quoted.append('"').toString();
+    }
+}
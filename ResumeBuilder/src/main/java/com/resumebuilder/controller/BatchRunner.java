@@ -0,0 +1,684 @@
+package com.resumebuilder.controller;
+
+import java.awt.image.BufferedImage;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
+
+// Headless batch mode: renders one PDF per JSON line of the input file
+public class BatchRunner {
+
+    public static class Options {
+        Path input;
+        Path outputDir = Paths.get(".");
+        String template = "Default";
+        int threads = Runtime.getRuntime().availableProcessors();
+        Path manifest;
+        boolean verify;
+        OutputProfile profile = OutputProfile.DEFAULT;
+        RasterExporter.Format rasterFormat;
+        float dpi = 72;
+        int width;
+        Path checkpoint;
+        int maxAttempts = 3;
+        boolean offHeap;
+        boolean validate;
+        Path signKeystore;
+        String signAlias;
+        Path shardDir;
+        int chunkSize = 500;
+        long leaseMillis = 60_000;
+        String workerId;
+
+        public static Options parse(String[] args) {
+            Options options = new Options();
+            for (int i = 0; i < args.length; i++) {
+                String arg = args[i];
+                if (i + 1 >= args.length) {
+                    throw new IllegalArgumentException("Missing value for " + arg);
+                }
+                switch (arg) {
+                    case "--input": options.input = Paths.get(args[++i]); break;
+                    case "--out": options.outputDir = Paths.get(args[++i]); break;
+                    case "--template": options.template = args[++i]; break;
+                    case "--threads": options.threads = Integer.parseInt(args[++i]); break;
+                    case "--manifest": options.manifest = Paths.get(args[++i]); break;
+                    case "--verify": options.verify = Boolean.parseBoolean(args[++i]); break;
+                    case "--profile": options.profile = OutputProfile.fromName(args[++i]); break;
+                    case "--format":
+                        String format = args[++i];
+                        options.rasterFormat = "pdf".equalsIgnoreCase(format) ? null : RasterExporter.Format.fromName(format);
+                        break;
+                    case "--dpi": options.dpi = Float.parseFloat(args[++i]); break;
+                    case "--width": options.width = Integer.parseInt(args[++i]); break;
+                    case "--checkpoint": options.checkpoint = Paths.get(args[++i]); break;
+                    case "--max-attempts": options.maxAttempts = Integer.parseInt(args[++i]); break;
+                    case "--off-heap": options.offHeap = Boolean.parseBoolean(args[++i]); break;
+                    case "--validate": options.validate = Boolean.parseBoolean(args[++i]); break;
+                    case "--sign-keystore": options.signKeystore = Paths.get(args[++i]); break;
+                    case "--sign-alias": options.signAlias = args[++i]; break;
+                    case "--shard-dir": options.shardDir = Paths.get(args[++i]); break;
+                    case "--chunk-size": options.chunkSize = Integer.parseInt(args[++i]); break;
+                    case "--lease-seconds": options.leaseMillis = (long) (Double.parseDouble(args[++i]) * 1000); break;
+                    case "--worker-id": options.workerId = args[++i]; break;
+                    default: throw new IllegalArgumentException("Unknown option: " + arg);
+                }
+            }
+            if (options.input == null) {
+                throw new IllegalArgumentException("--input is required");
+            }
+            if (options.threads < 1) {
+                throw new IllegalArgumentException("--threads must be at least 1");
+            }
+            if (options.verify && options.manifest == null) {
+                throw new IllegalArgumentException("--verify only applies with --manifest");
+            }
+            if (options.signKeystore != null && options.rasterFormat != null) {
+                throw new IllegalArgumentException("--sign-keystore only applies to PDF output");
+            }
+            if (options.shardDir != null) {
+                // Both are single-writer files; the lease directory's done markers stand in for the checkpoint
+                if (options.manifest != null || options.checkpoint != null || options.offHeap) {
+                    throw new IllegalArgumentException("--shard-dir can't be combined with --manifest, --checkpoint or --off-heap");
+                }
+                if (options.chunkSize < 1 || options.leaseMillis < 1000) {
+                    throw new IllegalArgumentException("--chunk-size must be at least 1 and --lease-seconds at least 1");
+                }
+                if (options.workerId == null) {
+                    options.workerId = ChunkLeases.defaultWorkerId();
+                }
+            }
+            return options;
+        }
+
+        public Path getInput() {
+            return input;
+        }
+
+        public Path getOutputDir() {
+            return outputDir;
+        }
+
+        public String getTemplate() {
+            return template;
+        }
+
+        public int getThreads() {
+            return threads;
+        }
+
+        public Path getManifest() {
+            return manifest;
+        }
+
+        public OutputProfile getProfile() {
+            return profile;
+        }
+
+        public RasterExporter.Format getRasterFormat() {
+            return rasterFormat;
+        }
+
+        public Path getCheckpoint() {
+            return checkpoint;
+        }
+    }
+
+    private static final String SIGN_PASSWORD_ENV = "RESUMEBUILDER_SIGN_PASSWORD";
+
+    // Counts a batch's queued and running tasks so the dispatcher can wait for them. A Phaser would do, but it
+    // caps registered parties at 65535.
+    private static final class TaskCounter {
+        // Starts at one for the dispatcher, so it can't reach zero before awaitDrained
+        private final AtomicInteger pending = new AtomicInteger(1);
+        private final CountDownLatch drained = new CountDownLatch(1);
+
+        Executor track(Executor target) {
+            return runnable -> {
+                pending.incrementAndGet();
+                try {
+                    target.execute(() -> {
+                        try {
+                            runnable.run();
+                        } finally {
+                            arrive();
+                        }
+                    });
+                } catch (RuntimeException ex) {
+                    arrive();
+                    throw ex;
+                }
+            };
+        }
+
+        // Call once, after the last task has been handed over
+        void awaitDrained() throws InterruptedException {
+            arrive();
+            drained.await();
+        }
+
+        private void arrive() {
+            if (pending.decrementAndGet() == 0) {
+                drained.countDown();
+            }
+        }
+    }
+
+    // Input that fails validation will never render, so it goes straight to the dead-letter file without retries
+    private static final class InvalidRecordException extends Exception {
+        private static final long serialVersionUID = 1L;
+
+        InvalidRecordException(List<String> errors) {
+            super(String.join(" ", errors));
+        }
+    }
+
+    private final PdfGenerator pdfGenerator;
+    private final Options options;
+    private final LatencyStats latencies = new LatencyStats();
+    private final AtomicInteger failures = new AtomicInteger();
+    private final AtomicInteger skipped = new AtomicInteger();
+    private final AtomicLong outputBytes = new AtomicLong();
+    private final LatencyStats encodeTimes = new LatencyStats();
+    private final Set<String> seenIds = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger resumed = new AtomicInteger();
+    private BuildManifest manifest;
+    private BatchCheckpoint checkpoint;
+    private IncrementalValidator validator;
+    private PdfSigner signer;
+    private final LatencyStats signTimes = new LatencyStats();
+    private ResumeTemplate template;
+    private RasterExporter rasterExporter;
+    private String outputVariant;
+    private List<RenderScheduler.Stats> schedulerStats;
+    private String extension;
+    private int chunksRendered;
+    private int chunkCount;
+    private ChunkLeases leases;
+
+    public BatchRunner(PdfGenerator pdfGenerator, Options options) {
+        this.pdfGenerator = pdfGenerator;
+        this.options = options;
+    }
+
+    public static boolean isBatchInvocation(String[] args) {
+        for (String arg : args) {
+            if ("--input".equals(arg)) return true;
+        }
+        return false;
+    }
+
+    public int run() throws Exception {
+        // Validate the template name once up front instead of failing every record
+        template = pdfGenerator.createTemplate(options.template);
+        Files.createDirectories(options.outputDir);
+        if (options.rasterFormat != null) {
+            rasterExporter = new RasterExporter(pdfGenerator, options.rasterFormat, options.dpi, options.width);
+            outputVariant = rasterExporter.describe();
+            extension = options.rasterFormat.getExtension();
+        } else {
+            outputVariant = options.profile.name();
+            extension = ".pdf";
+        }
+        if (options.signKeystore != null) {
+            signer = loadSigner();
+            // Signing with another certificate (or no longer signing) re-renders every record
+            outputVariant += "+" + signer.describe();
+        }
+        if (options.manifest != null) {
+            manifest = new BuildManifest(options.manifest);
+        }
+        if (options.validate) {
+            validator = new IncrementalValidator();
+        }
+        if (options.checkpoint != null) {
+            // Any setting that changes which outputs exist or what they hold, as for sharded jobs
+            String job = String.format("input %s, output %s, %s template v%s, %s", ResumeDataHasher.toHex(digestFile(options.input)),
+                    options.outputDir.toAbsolutePath().normalize(), template.getName(), template.getVersion(), outputVariant);
+            checkpoint = new BatchCheckpoint(options.checkpoint, Math.max(1, options.maxAttempts), job);
+            if (checkpoint.getDoneCount() > 0) {
+                System.out.printf("Resuming: %d records already completed%n", checkpoint.getDoneCount());
+            }
+        }
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            pool.resetPeakUsage();
+        }
+
+        // The batch has the scheduler to itself, so its bulk class may use every thread
+        RenderScheduler scheduler = new RenderScheduler(options.threads, options.threads, options.threads, options.threads,
+                RenderScheduler.DEFAULT_AGING_MILLIS);
+        TaskCounter inFlight = new TaskCounter();
+        Executor executor = inFlight.track(scheduler.executor(RenderScheduler.Priority.BULK));
+        long start = System.nanoTime();
+        try {
+            if (options.shardDir != null) {
+                renderSharded(executor);
+            } else if (options.offHeap) {
+                renderFromArena(loadArena(), executor);
+            } else {
+                renderStreaming(executor);
+            }
+        } finally {
+            inFlight.awaitDrained();
+            scheduler.shutdown();
+        }
+        long elapsed = System.nanoTime() - start;
+        schedulerStats = scheduler.getStats();
+
+        if (checkpoint != null) {
+            checkpoint.close();
+        }
+        if (manifest != null) {
+            removeStaleOutputs();
+            manifest.compactIfNeeded();
+            manifest.close();
+        }
+        printReport(elapsed);
+        return failures.get() == 0 ? 0 : 1;
+    }
+
+    private void renderStreaming(Executor executor) throws Exception {
+        try (BufferedReader reader = Files.newBufferedReader(options.input, StandardCharsets.UTF_8)) {
+            dispatchLines(reader, 0, Integer.MAX_VALUE, executor, () -> false);
+        }
+    }
+
+    // Hands up to maxLines input lines to the executor, numbering them from firstLine + 1 for default ids
+    private void dispatchLines(BufferedReader reader, int firstLine, int maxLines, Executor executor, BooleanSupplier stop) throws Exception {
+        // Bounds the records held in memory while the workers catch up with the reader
+        Semaphore inFlight = new Semaphore(options.threads * 4);
+        int lineNumber = firstLine;
+        String line;
+        while (lineNumber - firstLine < maxLines && !stop.getAsBoolean() && (line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.trim().isEmpty()) continue;
+            String json = line;
+            String defaultId = "record-" + lineNumber;
+            inFlight.acquire();
+            executor.execute(() -> {
+                try {
+                    renderRecord(json, defaultId);
+                } finally {
+                    inFlight.release();
+                }
+            });
+        }
+    }
+
+    // One of several processes sharing the input: claims chunks of chunkSize lines through lease files in the
+    // shard directory until every chunk is done, waiting on chunks other workers hold in case they die
+    private void renderSharded(Executor executor) throws Exception {
+        MessageDigest inputDigest = ResumeDataHasher.newDigest();
+        List<Long> offsets = chunkOffsets(options.input, options.chunkSize, inputDigest);
+        chunkCount = offsets.size();
+        // Any setting that changes the outputs is part of the job, so workers can't mix two runs' results
+        String job = String.format("input %s, %d lines per chunk, %d chunks, %s template, %s",
+                ResumeDataHasher.toHex(inputDigest.digest()), options.chunkSize, chunkCount, options.template, outputVariant);
+        try (ChunkLeases chunkLeases = new ChunkLeases(options.shardDir, options.workerId, options.leaseMillis)) {
+            leases = chunkLeases;
+            leases.bindJob(job);
+            System.out.printf("Worker %s: %d chunks of %d lines in %s%n", leases.getWorkerId(), chunkCount, options.chunkSize, options.shardDir);
+            long pollMillis = Math.max(100, options.leaseMillis / 4);
+            while (true) {
+                boolean waiting = false;
+                for (int chunk = 0; chunk < chunkCount; chunk++) {
+                    if (leases.isDone(chunk)) continue;
+                    ChunkLeases.Lease lease = leases.tryClaim(chunk);
+                    if (lease == null) {
+                        waiting |= !leases.isDone(chunk);
+                        continue;
+                    }
+                    renderChunk(lease, offsets.get(chunk), executor);
+                }
+                if (!waiting) break;
+                Thread.sleep(pollMillis);
+            }
+        }
+    }
+
+    private void renderChunk(ChunkLeases.Lease lease, long offset, Executor executor) throws Exception {
+        int failuresBefore = failures.get();
+        int renderedBefore = latencies.getCount();
+        // Waits for this chunk's records only; the lease is kept until the last one is written
+        TaskCounter chunkTasks = new TaskCounter();
+        Executor chunkExecutor = chunkTasks.track(executor);
+        try (FileChannel channel = FileChannel.open(options.input);
+             BufferedReader reader = new BufferedReader(Channels.newReader(channel.position(offset), StandardCharsets.UTF_8))) {
+            dispatchLines(reader, lease.getChunk() * options.chunkSize, options.chunkSize, chunkExecutor, lease::isLost);
+        } catch (Exception ex) {
+            chunkTasks.awaitDrained();
+            leases.release(lease);
+            throw ex;
+        }
+        chunkTasks.awaitDrained();
+        if (lease.isLost()) return;
+        leases.complete(lease, String.format("rendered=%d failed=%d",
+                latencies.getCount() - renderedBefore, failures.get() - failuresBefore));
+        chunksRendered++;
+    }
+
+    // Byte offset of every chunkSize-th line. Every worker derives the same chunks from the same file; the
+    // digest of its content identifies the job.
+    static List<Long> chunkOffsets(Path input, int chunkSize, MessageDigest digest) throws IOException {
+        List<Long> offsets = new ArrayList<>();
+        byte[] buffer = new byte[64 * 1024];
+        long position = 0;
+        long lines = 0;
+        boolean lineStart = true;
+        try (InputStream in = Files.newInputStream(input)) {
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+                for (int i = 0; i < read; i++) {
+                    if (lineStart && lines % chunkSize == 0) {
+                        offsets.add(position + i);
+                    }
+                    lineStart = buffer[i] == '\n';
+                    if (lineStart) {
+                        lines++;
+                    }
+                }
+                position += read;
+            }
+        }
+        return offsets;
+    }
+
+    // Parses the whole input into off-heap storage first, for in-memory batches too large for the heap
+    private OffHeapRecordArena loadArena() throws Exception {
+        OffHeapRecordArena arena = new OffHeapRecordArena();
+        int lineNumber = 0;
+        try (BufferedReader reader = Files.newBufferedReader(options.input, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.trim().isEmpty()) continue;
+                try {
+                    ResumeRecord record = ResumeRecord.fromJson(line, "record-" + lineNumber);
+                    arena.add(record.getId(), record.getData(), record.getPhoto());
+                } catch (Exception ex) {
+                    fail("record-" + lineNumber, line, ex, checkpoint == null ? 1 : checkpoint.getMaxAttempts());
+                }
+            }
+        }
+        System.out.printf("Loaded %d records into %.1f MB off-heap%n", arena.size(), arena.getOffHeapBytes() / (1024.0 * 1024.0));
+        return arena;
+    }
+
+    private void renderFromArena(OffHeapRecordArena arena, Executor executor) throws InterruptedException {
+        // Same bound as dispatchLines, so the scheduler's queue doesn't hold a task per record
+        Semaphore inFlight = new Semaphore(options.threads * 4);
+        for (int i = 0; i < arena.size(); i++) {
+            int index = i;
+            inFlight.acquire();
+            executor.execute(() -> {
+                try {
+                    processRecord(new ResumeRecord(arena.getId(index), arena.view(index), arena.getPhoto(index)), null);
+                } finally {
+                    inFlight.release();
+                }
+            });
+        }
+    }
+
+    // Renders one input line, retrying up to maxAttempts (counting attempts from earlier runs) when a
+    // checkpoint is in use; records that keep failing go to the dead-letter file
+    private void renderRecord(String json, String defaultId) {
+        ResumeRecord record;
+        try {
+            record = ResumeRecord.fromJson(json, defaultId);
+        } catch (Exception ex) {
+            // Unparsable input will never succeed, so it isn't retried
+            fail(defaultId, json, ex, checkpoint == null ? 1 : checkpoint.getMaxAttempts());
+            return;
+        }
+        processRecord(record, json);
+    }
+
+    // json is the original input line for the dead-letter file, or null when rendering from the arena
+    private void processRecord(ResumeRecord record, String json) {
+        String id = record.getId();
+        int attempt = 0;
+        int maxAttempts = 1;
+        if (checkpoint != null) {
+            if (checkpoint.isDone(id)) {
+                seenIds.add(id);
+                resumed.incrementAndGet();
+                return;
+            }
+            attempt = checkpoint.getAttempts(id);
+            maxAttempts = checkpoint.getMaxAttempts();
+            if (attempt >= maxAttempts) {
+                // Dead-lettered by an earlier run
+                seenIds.add(id);
+                failures.incrementAndGet();
+                return;
+            }
+        }
+
+        while (true) {
+            attempt++;
+            long start = System.nanoTime();
+            try {
+                if (renderOnce(record)) {
+                    latencies.record(System.nanoTime() - start);
+                }
+                if (checkpoint != null) {
+                    checkpoint.markDone(id);
+                }
+                return;
+            } catch (Exception ex) {
+                if (attempt >= maxAttempts || ex instanceof InvalidRecordException) {
+                    fail(id, json, ex, attempt);
+                    return;
+                }
+                try {
+                    checkpoint.markFailed(id, attempt);
+                } catch (IOException logError) {
+                    System.err.println("Failed to checkpoint " + id + ": " + logError.getMessage());
+                }
+            }
+        }
+    }
+
+    // Returns false when the manifest shows the output is already up to date
+    private boolean renderOnce(ResumeRecord record) throws Exception {
+        String id = record.getId();
+        Path output = options.outputDir.resolve(fileNameFor(id, extension));
+        byte[] inputDigest = null;
+        Path photoFile = record.getPhoto() != null && template.supportsImage()
+                ? options.input.toAbsolutePath().getParent().resolve(record.getPhoto()) : null;
+        if (manifest != null) {
+            seenIds.add(id);
+            inputDigest = BuildManifest.inputDigest(recordDigest(record, photoFile), template, outputVariant);
+            if (manifest.isUpToDate(id, inputDigest, output, options.verify)) {
+                skipped.incrementAndGet();
+                return false;
+            }
+        }
+        // Checked after the manifest so unchanged records aren't re-validated; field values repeated across
+        // records (blank fields, common years) are answered from the validator's cache
+        if (validator != null) {
+            List<String> errors = validator.validateAll(record.getData());
+            if (!errors.isEmpty()) {
+                throw new InvalidRecordException(errors);
+            }
+        }
+        // Decoded at its placed size and shared through the generator's cache, so photos can't exhaust the heap
+        BufferedImage photo = photoFile != null ? pdfGenerator.loadProfileImage(photoFile) : null;
+        RenderResult result = rasterExporter != null
+                ? rasterExporter.export(record.getData(), options.template, photo)
+                : pdfGenerator.render(record.getData(), options.template, photo, options.profile);
+        byte[] bytes = result.getBytes();
+        if (signer != null) {
+            long signStart = System.nanoTime();
+            bytes = signer.sign(bytes);
+            signTimes.record(System.nanoTime() - signStart);
+        }
+        writeAtomically(output, bytes);
+        if (manifest != null) {
+            // An output of another --format from an earlier build would otherwise sit next to the new one
+            if (manifest.get(id) != null) {
+                deleteOutputs(id, extension);
+            }
+            manifest.put(id, inputDigest, ResumeDataHasher.newDigest().digest(bytes), bytes.length,
+                    Files.getLastModifiedTime(output).toMillis());
+        }
+        outputBytes.addAndGet(bytes.length);
+        encodeTimes.record(result.getEncodeNanos());
+        return true;
+    }
+
+    // The record content plus, when it has one, the photo's path, modification time and size
+    private static byte[] recordDigest(ResumeRecord record, Path photoFile) throws IOException {
+        byte[] digest = ResumeDataHasher.digest(record.getData());
+        if (photoFile == null) return digest;
+        MessageDigest combined = ResumeDataHasher.newDigest();
+        combined.update(digest);
+        combined.update(ProfileImageLoader.describe(photoFile).getBytes(StandardCharsets.UTF_8));
+        return combined.digest();
+    }
+
+    // The keystore is read once per run; its password comes from the environment, not the command line
+    private PdfSigner loadSigner() throws Exception {
+        String password = System.getenv(SIGN_PASSWORD_ENV);
+        if (password == null) {
+            throw new IllegalArgumentException(SIGN_PASSWORD_ENV + " must hold the keystore password");
+        }
+        PdfSigner loaded = PdfSigner.load(options.signKeystore, password.toCharArray(), options.signAlias);
+        System.out.println("Signing outputs with " + options.signKeystore.getFileName() + " (" + loaded.describe() + ")");
+        return loaded;
+    }
+
+    private void fail(String id, String json, Exception ex, int attempts) {
+        failures.incrementAndGet();
+        System.err.println("Failed to render " + id + ": " + ex.getMessage());
+        if (checkpoint != null) {
+            try {
+                checkpoint.markFailed(id, attempts);
+                checkpoint.deadLetter(id, attempts, ex, json);
+            } catch (IOException logError) {
+                System.err.println("Failed to dead-letter " + id + ": " + logError.getMessage());
+            }
+        }
+    }
+
+    // Records that were in the manifest but not in this input have their outputs deleted
+    private void removeStaleOutputs() throws Exception {
+        int removed = 0;
+        for (String id : new ArrayList<>(manifest.getIds())) {
+            if (!seenIds.contains(id)) {
+                deleteOutputs(id, null);
+                manifest.remove(id);
+                removed++;
+            }
+        }
+        if (removed > 0) {
+            System.out.printf("Removed %d stale outputs%n", removed);
+        }
+    }
+
+    private static byte[] digestFile(Path file) throws IOException {
+        MessageDigest digest = ResumeDataHasher.newDigest();
+        byte[] buffer = new byte[64 * 1024];
+        try (InputStream in = Files.newInputStream(file)) {
+            int read;
+            while ((read = in.read(buffer)) > 0) {
+                digest.update(buffer, 0, read);
+            }
+        }
+        return digest.digest();
+    }
+
+    // Every output the record may have from any --format, except the one with the given extension
+    private void deleteOutputs(String id, String keepExtension) throws IOException {
+        List<String> extensions = new ArrayList<>();
+        extensions.add(".pdf");
+        for (RasterExporter.Format format : RasterExporter.Format.values()) {
+            extensions.add(format.getExtension());
+        }
+        for (String candidate : extensions) {
+            if (!candidate.equals(keepExtension)) {
+                Files.deleteIfExists(options.outputDir.resolve(fileNameFor(id, candidate)));
+            }
+        }
+    }
+
+    // Each writer gets its own temp file, so two writers of the same output (a chunk rendered again after a lease
+    // takeover) can't truncate each other's file mid-move; the last move wins with a whole file
+    static void writeAtomically(Path target, byte[] content) throws IOException {
+        Path temp = target.resolveSibling(target.getFileName() + "." + UUID.randomUUID() + ".tmp");
+        try {
+            Files.write(temp, content, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    // Ids that are already safe file names are used as they are. Any other id gets its unsafe characters replaced
+    // and a digest of the original appended after a '~', which no safe id contains, so two ids never share an
+    // output (and removing one record's stale output can't delete another's)
+    static String fileNameFor(String id, String extension) {
+        String safe = id.replaceAll("[^A-Za-z0-9._-]", "_");
+        if (!safe.equals(id)) {
+            byte[] digest = ResumeDataHasher.newDigest().digest(id.getBytes(StandardCharsets.UTF_8));
+            safe += "~" + ResumeDataHasher.toHex(digest).substring(0, 16);
+        }
+        return safe + extension;
+    }
+
+    private void printReport(long elapsedNanos) {
+        int rendered = latencies.getCount();
+        double seconds = elapsedNanos / 1_000_000_000.0;
+        long peakHeap = 0;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP && pool.getPeakUsage() != null) {
+                peakHeap += pool.getPeakUsage().getUsed();
+            }
+        }
+        System.out.printf("Rendered %d records (%d failed, %d unchanged, %d already checkpointed) with %d threads in %.2f s%n", rendered, failures.get(), skipped.get(), resumed.get(), options.threads, seconds);
+        System.out.printf("Throughput: %.1f records/sec%n", seconds > 0 ? rendered / seconds : 0);
+        System.out.printf("Latency per record: p50 %.2f ms, p99 %.2f ms%n", latencies.percentileMillis(50), latencies.percentileMillis(99));
+        System.out.printf("Output (%s): %.1f MB total, mean encode %.2f ms%n", outputVariant, outputBytes.get() / (1024.0 * 1024.0), encodeTimes.meanMillis());
+        System.out.printf("Peak heap: %.1f MB%n", peakHeap / (1024.0 * 1024.0));
+        if (signer != null) {
+            System.out.printf("Signing: mean %.2f ms, p99 %.2f ms per PDF%n", signTimes.meanMillis(), signTimes.percentileMillis(99));
+        }
+        if (leases != null) {
+            System.out.printf("Shards: %d of %d chunks rendered by %s (%d reclaimed from dead workers)%n",
+                    chunksRendered, chunkCount, leases.getWorkerId(), leases.getReclaimedCount());
+        }
+        if (validator != null) {
+            System.out.printf("Validation: %d field checks, %d answered from cache%n", validator.getHits() + validator.getMisses(), validator.getHits());
+        }
+        for (RenderScheduler.Stats stats : schedulerStats) {
+            if (stats.getCompleted() > 0) {
+                System.out.println("Scheduler " + stats);
+            }
+        }
+    }
+}
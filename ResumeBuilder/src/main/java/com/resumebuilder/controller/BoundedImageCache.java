@@ -0,0 +1,63 @@
+package com.resumebuilder.controller;
+
+import java.awt.image.BufferedImage;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+
+// LRU cache of images bounded by their pixel memory rather than by entry count
+public class BoundedImageCache<K> {
+    private final long budgetBytes;
+    private final LinkedHashMap<K, BufferedImage> images = new LinkedHashMap<>(64, 0.75f, true);
+    private long usedBytes;
+
+    public BoundedImageCache(long budgetBytes) {
+        this.budgetBytes = budgetBytes;
+    }
+
+    public synchronized BufferedImage get(K key) {
+        return images.get(key);
+    }
+
+    public synchronized void put(K key, BufferedImage image) {
+        BufferedImage previous = images.put(key, image);
+        if (previous != null) {
+            usedBytes -= sizeOf(previous);
+        }
+        usedBytes += sizeOf(image);
+        Iterator<Map.Entry<K, BufferedImage>> eldest = images.entrySet().iterator();
+        while (usedBytes > budgetBytes && eldest.hasNext()) {
+            Map.Entry<K, BufferedImage> entry = eldest.next();
+            if (entry.getKey().equals(key)) continue;
+            usedBytes -= sizeOf(entry.getValue());
+            eldest.remove();
+        }
+    }
+
+    public synchronized void clear() {
+        images.clear();
+        usedBytes = 0;
+    }
+
+    // Empties the cache, handing every image to released, e.g. to return them to an ImageBufferPool
+    public synchronized void clear(Consumer<BufferedImage> released) {
+        for (BufferedImage image : images.values()) {
+            released.accept(image);
+        }
+        clear();
+    }
+
+    public synchronized long getUsedBytes() {
+        return usedBytes;
+    }
+
+    public long getBudgetBytes() {
+        return budgetBytes;
+    }
+
+    // Approximate: assumes one int per pixel, which holds for the RGB and ARGB images rendered here
+    static long sizeOf(BufferedImage image) {
+        return (long) image.getWidth() * image.getHeight() * Integer.BYTES;
+    }
+}
@@ -0,0 +1,256 @@
+package com.resumebuilder.controller;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Field;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Append-only manifest of record id -> input digest -> output digest for incremental batch builds.
+// The file starts with a format marker; each entry is [int idLength][id UTF-8][32-byte input digest]
+// [32-byte output digest][long output size][long output modification time, epoch millis];
+// a later entry for the same id wins and a negative size marks a removed record.
+public class BuildManifest implements AutoCloseable {
+    private static final int DIGEST_LENGTH = 32;
+    // "RBM2"; a manifest of the earlier format, without the marker and modification times, is started over
+    private static final int MAGIC = 0x52424D32;
+
+    public static class Entry {
+        private final byte[] inputDigest;
+        private final byte[] outputDigest;
+        private final long outputSize;
+        private final long outputModified;
+
+        Entry(byte[] inputDigest, byte[] outputDigest, long outputSize, long outputModified) {
+            this.inputDigest = inputDigest;
+            this.outputDigest = outputDigest;
+            this.outputSize = outputSize;
+            this.outputModified = outputModified;
+        }
+
+        public byte[] getInputDigest() {
+            return inputDigest;
+        }
+
+        public byte[] getOutputDigest() {
+            return outputDigest;
+        }
+
+        public long getOutputSize() {
+            return outputSize;
+        }
+
+        public long getOutputModified() {
+            return outputModified;
+        }
+    }
+
+    private final Path file;
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private FileChannel appendChannel;
+    private long entryCount;
+
+    public BuildManifest(Path file) throws IOException {
+        this.file = file;
+        load();
+        appendChannel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+
+    // Input digest covers the record content plus the template name and version and the output variant
+    // (profile or raster settings), so changing any of them invalidates every output rendered with it
+    public static byte[] inputDigest(byte[] dataDigest, ResumeTemplate template, String outputVariant) {
+        java.security.MessageDigest digest = ResumeDataHasher.newDigest();
+        digest.update(dataDigest);
+        digest.update((template.getName() + "\u0000" + template.getVersion() + "\u0000" + outputVariant).getBytes(StandardCharsets.UTF_8));
+        return digest.digest();
+    }
+
+    public Entry get(String id) {
+        return entries.get(id);
+    }
+
+    public Set<String> getIds() {
+        return entries.keySet();
+    }
+
+    // The output must still be the one recorded. Size and modification time are checked from metadata alone, so an
+    // unchanged batch doesn't read its outputs; verify also reads and hashes each output against the recorded
+    // digest, catching changes that kept both.
+    public boolean isUpToDate(String id, byte[] inputDigest, Path output, boolean verify) {
+        Entry entry = entries.get(id);
+        if (entry == null || !Arrays.equals(entry.inputDigest, inputDigest)) {
+            return false;
+        }
+        try {
+            if (Files.size(output) != entry.outputSize || Files.getLastModifiedTime(output).toMillis() != entry.outputModified) {
+                return false;
+            }
+            return !verify || Arrays.equals(ResumeDataHasher.newDigest().digest(Files.readAllBytes(output)), entry.outputDigest);
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    public synchronized void put(String id, byte[] inputDigest, byte[] outputDigest, long outputSize, long outputModified) throws IOException {
+        append(id, inputDigest, outputDigest, outputSize, outputModified);
+        entries.put(id, new Entry(inputDigest, outputDigest, outputSize, outputModified));
+    }
+
+    public synchronized void remove(String id) throws IOException {
+        if (entries.remove(id) != null) {
+            append(id, new byte[DIGEST_LENGTH], new byte[DIGEST_LENGTH], -1, 0);
+        }
+    }
+
+    // Rewrites the manifest with only live entries once superseded ones outnumber them
+    public synchronized void compactIfNeeded() throws IOException {
+        if (entryCount <= entries.size() * 2L + 1024) {
+            return;
+        }
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            writeFully(channel, header());
+            for (Map.Entry<String, Entry> entry : entries.entrySet()) {
+                Entry value = entry.getValue();
+                writeFully(channel, encode(entry.getKey(), value.inputDigest, value.outputDigest, value.outputSize, value.outputModified));
+            }
+            channel.force(true);
+        }
+        appendChannel.close();
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        appendChannel = FileChannel.open(file, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        entryCount = entries.size();
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        appendChannel.force(false);
+        appendChannel.close();
+    }
+
+    private void load() throws IOException {
+        if (!Files.exists(file) || Files.size(file) == 0) {
+            startOver();
+            return;
+        }
+        if (!hasMarker()) {
+            System.out.println("Manifest " + file + " is from an older version or damaged; every record is rendered once");
+            startOver();
+            return;
+        }
+        long tornAt = -1;
+        MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        buffer.position(Integer.BYTES);
+        try {
+            int fixedLength = DIGEST_LENGTH * 2 + Long.BYTES * 2;
+            while (buffer.remaining() >= Integer.BYTES) {
+                int start = buffer.position();
+                int idLength = buffer.getInt();
+                if (idLength < 0 || buffer.remaining() < idLength + fixedLength) {
+                    // Torn tail from a crash mid-append
+                    tornAt = start;
+                    break;
+                }
+                byte[] id = new byte[idLength];
+                buffer.get(id);
+                byte[] inputDigest = new byte[DIGEST_LENGTH];
+                buffer.get(inputDigest);
+                byte[] outputDigest = new byte[DIGEST_LENGTH];
+                buffer.get(outputDigest);
+                long outputSize = buffer.getLong();
+                long outputModified = buffer.getLong();
+
+                String key = new String(id, StandardCharsets.UTF_8);
+                if (outputSize < 0) {
+                    entries.remove(key);
+                } else {
+                    entries.put(key, new Entry(inputDigest, outputDigest, outputSize, outputModified));
+                }
+                entryCount++;
+            }
+            // A tail too short to hold even the length is torn as well
+            if (buffer.hasRemaining() && tornAt < 0) {
+                tornAt = buffer.position();
+            }
+        } finally {
+            unmap(buffer);
+        }
+        // Dropped so the next append starts clean; only once the mapping is gone, since Windows refuses to
+        // truncate a file that is still mapped
+        if (tornAt >= 0) {
+            truncate(tornAt);
+        }
+    }
+
+    // A mapping otherwise lives until the buffer is garbage collected. The cleaner is reached through
+    // sun.misc.Unsafe, which jdk.unsupported exports to every module; the buffer must not be touched afterwards.
+    private static void unmap(MappedByteBuffer buffer) {
+        try {
+            Field field = Class.forName("sun.misc.Unsafe").getDeclaredField("theUnsafe");
+            field.setAccessible(true);
+            Object unsafe = field.get(null);
+            unsafe.getClass().getMethod("invokeCleaner", ByteBuffer.class).invoke(unsafe, buffer);
+        } catch (ReflectiveOperationException | RuntimeException ex) {
+            // Left to the garbage collector
+        }
+    }
+
+    private void truncate(long length) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.truncate(length);
+        }
+    }
+
+    private boolean hasMarker() throws IOException {
+        try (InputStream in = Files.newInputStream(file)) {
+            byte[] marker = in.readNBytes(Integer.BYTES);
+            return marker.length == Integer.BYTES && ByteBuffer.wrap(marker).getInt() == MAGIC;
+        }
+    }
+
+    // An empty manifest holding only the format marker
+    private void startOver() throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            writeFully(channel, header());
+        }
+    }
+
+    private void append(String id, byte[] inputDigest, byte[] outputDigest, long outputSize, long outputModified) throws IOException {
+        writeFully(appendChannel, encode(id, inputDigest, outputDigest, outputSize, outputModified));
+        entryCount++;
+    }
+
+    private static ByteBuffer header() {
+        ByteBuffer buffer = ByteBuffer.allocate(Integer.BYTES);
+        buffer.putInt(MAGIC);
+        buffer.flip();
+        return buffer;
+    }
+
+    private static ByteBuffer encode(String id, byte[] inputDigest, byte[] outputDigest, long outputSize, long outputModified) {
+        byte[] idBytes = id.getBytes(StandardCharsets.UTF_8);
+        ByteBuffer buffer = ByteBuffer.allocate(Integer.BYTES + idBytes.length + DIGEST_LENGTH * 2 + Long.BYTES * 2);
+        buffer.putInt(idBytes.length).put(idBytes).put(inputDigest).put(outputDigest).putLong(outputSize).putLong(outputModified);
+        buffer.flip();
+        return buffer;
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+}
@@ -0,0 +1,267 @@
+package com.resumebuilder.controller;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.net.InetAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+// Lets several batch processes, on one machine or on nodes sharing a filesystem, split an input between them
+// with nothing but files in a shared directory:
+//   job               what is being rendered; a worker started against a different input or setup refuses to join
+//   chunk-N.lease     held by one worker; created atomically, its modification time refreshed by a heartbeat
+//   chunk-N.done      written once every record of the chunk has been rendered
+// A lease whose modification time is older than the lease duration belongs to a dead (or hung) worker and is
+// taken over by the next worker that finds it. A worker that discovers its lease was taken over stops handing
+// out records from that chunk; since outputs are written atomically and rendering is deterministic, a chunk
+// rendered twice around a takeover leaves the same files as one rendered once.
+//
+// Lease ages are compared against the local clock, so the nodes' clocks must agree to well within the lease
+// duration.
+public class ChunkLeases implements AutoCloseable {
+
+    public final class Lease {
+        private final int chunk;
+        private final Path file;
+        private final String token;
+        private volatile boolean lost;
+
+        private Lease(int chunk, Path file, String token) {
+            this.chunk = chunk;
+            this.file = file;
+            this.token = token;
+        }
+
+        public int getChunk() {
+            return chunk;
+        }
+
+        // True once another worker has taken the chunk over
+        public boolean isLost() {
+            return lost;
+        }
+    }
+
+    private final Path directory;
+    private final String workerId;
+    private final long leaseMillis;
+    private final Map<Integer, Lease> held = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService heartbeat;
+    private int reclaimed;
+
+    public ChunkLeases(Path directory, String workerId, long leaseMillis) throws IOException {
+        this.directory = directory;
+        this.workerId = workerId;
+        this.leaseMillis = leaseMillis;
+        Files.createDirectories(directory);
+        this.heartbeat = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "chunk-lease-heartbeat");
+            thread.setDaemon(true);
+            return thread;
+        });
+        // Three beats per lease period, so one delayed beat doesn't let a live lease expire
+        long period = Math.max(1, leaseMillis / 3);
+        heartbeat.scheduleAtFixedRate(this::beat, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    // host-pid, unique among the processes sharing a lease directory
+    public static String defaultWorkerId() {
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (IOException ex) {
+            host = "localhost";
+        }
+        return host + "-" + ManagementFactory.getRuntimeMXBean().getPid();
+    }
+
+    public String getWorkerId() {
+        return workerId;
+    }
+
+    // Records the job on first use; afterwards every worker must describe the same job, so leftover done
+    // markers from an earlier run can't make a new run skip chunks
+    public void bindJob(String description) throws IOException {
+        Path job = directory.resolve("job");
+        if (!createWithContent(job, description + "\n")) {
+            String existing = Files.readString(job, StandardCharsets.UTF_8).trim();
+            if (!existing.equals(description)) {
+                throw new IllegalArgumentException("Lease directory " + directory + " belongs to another run ("
+                        + existing + "); use a new directory or empty this one");
+            }
+        }
+    }
+
+    public boolean isDone(int chunk) {
+        return Files.exists(donePath(chunk));
+    }
+
+    // Returns the lease, or null when the chunk is done or another live worker holds it
+    public Lease tryClaim(int chunk) throws IOException {
+        if (isDone(chunk)) return null;
+        Path file = leasePath(chunk);
+        String token = workerId + " " + UUID.randomUUID();
+        String previous = null;
+        if (!createWithContent(file, token)) {
+            previous = reclaimIfExpired(file);
+            if (previous == null || !createWithContent(file, token)) return null;
+        }
+        // The previous holder may have finished and released it between the done check and the create
+        if (isDone(chunk)) {
+            Files.deleteIfExists(file);
+            return null;
+        }
+        if (previous != null && !previous.isEmpty()) {
+            synchronized (this) {
+                reclaimed++;
+            }
+            System.out.println("Reclaimed chunk " + chunk + " from " + previous);
+        }
+        Lease lease = new Lease(chunk, file, token);
+        held.put(chunk, lease);
+        return lease;
+    }
+
+    // Marks the chunk done, then gives up the lease; the marker goes first so there is never a moment when
+    // the chunk looks unclaimed and unfinished
+    public void complete(Lease lease, String summary) throws IOException {
+        held.remove(lease.chunk);
+        if (lease.lost) return;
+        Path done = donePath(lease.chunk);
+        Path temp = done.resolveSibling(done.getFileName() + "." + workerId + ".tmp");
+        Files.write(temp, (workerId + " " + summary + "\n").getBytes(StandardCharsets.UTF_8));
+        Files.move(temp, done, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        releaseFile(lease);
+    }
+
+    // Gives the chunk back unfinished, for another worker to claim
+    public void release(Lease lease) throws IOException {
+        held.remove(lease.chunk);
+        if (!lease.lost) {
+            releaseFile(lease);
+        }
+    }
+
+    public synchronized int getReclaimedCount() {
+        return reclaimed;
+    }
+
+    @Override
+    public void close() {
+        heartbeat.shutdownNow();
+        for (Lease lease : held.values()) {
+            try {
+                release(lease);
+            } catch (IOException ex) {
+                System.err.println("Failed to release chunk " + lease.chunk + ": " + ex.getMessage());
+            }
+        }
+    }
+
+    // Refreshes every held lease, after checking it is still ours
+    private void beat() {
+        for (Lease lease : held.values()) {
+            try {
+                if (!lease.token.equals(readToken(lease.file))) {
+                    lose(lease);
+                    continue;
+                }
+                Files.setLastModifiedTime(lease.file, FileTime.fromMillis(System.currentTimeMillis()));
+            } catch (NoSuchFileException ex) {
+                lose(lease);
+            } catch (IOException ex) {
+                // A filesystem hiccup; the next beat tries again well before the lease can expire
+                System.err.println("Lease heartbeat for chunk " + lease.chunk + " failed: " + ex.getMessage());
+            }
+        }
+    }
+
+    private void lose(Lease lease) {
+        lease.lost = true;
+        held.remove(lease.chunk);
+        System.err.println("Lost the lease on chunk " + lease.chunk + " to another worker");
+    }
+
+    // Moves an expired lease aside, returning its holder ("" if it was released meanwhile), or null when the lease
+    // is live. The move is atomic, so of several workers finding the same expired lease only one gets it; if the
+    // lease it moved turns out to be fresh (re-created by a faster worker in the meantime) it is put back.
+    private String reclaimIfExpired(Path file) throws IOException {
+        try {
+            if (!isExpired(file)) return null;
+        } catch (NoSuchFileException ex) {
+            // Released since the create failed; claimable
+            return "";
+        }
+        Path aside = file.resolveSibling(file.getFileName() + "." + workerId + ".stale");
+        try {
+            Files.move(file, aside, StandardCopyOption.ATOMIC_MOVE);
+        } catch (NoSuchFileException ex) {
+            return null;
+        }
+        if (!isExpired(aside)) {
+            try {
+                Files.move(aside, file, StandardCopyOption.ATOMIC_MOVE);
+            } catch (FileAlreadyExistsException ex) {
+                Files.deleteIfExists(aside);
+            }
+            return null;
+        }
+        String previous = readToken(aside);
+        Files.deleteIfExists(aside);
+        int space = previous.indexOf(' ');
+        return space > 0 ? previous.substring(0, space) : "an unknown worker";
+    }
+
+    private boolean isExpired(Path file) throws IOException {
+        return System.currentTimeMillis() - Files.getLastModifiedTime(file).toMillis() > leaseMillis;
+    }
+
+    private void releaseFile(Lease lease) throws IOException {
+        // Only delete it while it is still ours; a lease taken over meanwhile belongs to someone else
+        try {
+            if (lease.token.equals(readToken(lease.file))) {
+                Files.deleteIfExists(lease.file);
+            }
+        } catch (NoSuchFileException ex) {
+            // Already gone
+        }
+    }
+
+    // Writes a private temp file and hard-links it into place: the link either appears with its full content
+    // or fails because the name exists, which holds on NFS too, where exclusive create has not always been safe
+    private boolean createWithContent(Path target, String content) throws IOException {
+        Path temp = target.resolveSibling(target.getFileName() + "." + workerId + "." + UUID.randomUUID() + ".tmp");
+        Files.write(temp, content.getBytes(StandardCharsets.UTF_8));
+        try {
+            Files.createLink(target, temp);
+            return true;
+        } catch (FileAlreadyExistsException ex) {
+            return false;
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private static String readToken(Path file) throws IOException {
+        return Files.readString(file, StandardCharsets.UTF_8).trim();
+    }
+
+    private Path leasePath(int chunk) {
+        return directory.resolve(String.format("chunk-%05d.lease", chunk));
+    }
+
+    private Path donePath(int chunk) {
+        return directory.resolve(String.format("chunk-%05d.done", chunk));
+    }
+}
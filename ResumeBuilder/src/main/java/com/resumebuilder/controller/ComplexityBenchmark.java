@@ -0,0 +1,242 @@
+package com.resumebuilder.controller;
+
+import com.resumebuilder.model.Education;
+import com.resumebuilder.model.ResumeData;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Sweeps input size along a few dimensions through InputValidator and every template's layout and encode stages,
+// fits time ~ size^k on a log-log scale and fails when a stage grows faster than linear
+public class ComplexityBenchmark {
+    private static final long MIN_SAMPLE_NANOS = 5_000_000L;
+
+    // Each dimension grows one aspect of the input and leaves the rest at the sample resume
+    enum Dimension {
+        CHARS("characters per field", 2000),
+        LINES("lines per section", 100),
+        WORD("characters per word", 2000);
+
+        final String description;
+        final int baseSize;
+
+        Dimension(String description, int baseSize) {
+            this.description = description;
+            this.baseSize = baseSize;
+        }
+    }
+
+    public static class Options {
+        int steps = 6;
+        int reps = 3;
+        double maxExponent = 1.3;
+        OutputProfile profile = OutputProfile.DEFAULT;
+
+        public static Options parse(String[] args) {
+            Options options = new Options();
+            for (int i = 0; i < args.length; i++) {
+                String arg = args[i];
+                if ("--bench-complexity".equals(arg)) continue;
+                if (i + 1 >= args.length) {
+                    throw new IllegalArgumentException("Missing value for " + arg);
+                }
+                switch (arg) {
+                    case "--steps": options.steps = Integer.parseInt(args[++i]); break;
+                    case "--reps": options.reps = Integer.parseInt(args[++i]); break;
+                    case "--max-exponent": options.maxExponent = Double.parseDouble(args[++i]); break;
+                    case "--profile": options.profile = OutputProfile.fromName(args[++i]); break;
+                    default: throw new IllegalArgumentException("Unknown option: " + arg);
+                }
+            }
+            if (options.steps < 3 || options.reps < 1) {
+                throw new IllegalArgumentException("--steps must be at least 3 and --reps at least 1");
+            }
+            return options;
+        }
+    }
+
+    private final PdfGenerator pdfGenerator;
+    private final Options options;
+
+    public ComplexityBenchmark(PdfGenerator pdfGenerator, Options options) {
+        this.pdfGenerator = pdfGenerator;
+        this.options = options;
+    }
+
+    public static boolean isBenchmarkInvocation(String[] args) {
+        for (String arg : args) {
+            if ("--bench-complexity".equals(arg)) return true;
+        }
+        return false;
+    }
+
+    public int run() throws Exception {
+        warmUp();
+        boolean passed = true;
+        System.out.println("dimension              stage                  smallest ms   largest ms  exponent");
+        for (Dimension dimension : Dimension.values()) {
+            int[] sizes = sizes(dimension);
+            Map<String, double[]> timings = sweep(dimension, sizes);
+            for (Map.Entry<String, double[]> entry : timings.entrySet()) {
+                double[] nanos = entry.getValue();
+                double exponent = fitExponent(sizes, nanos);
+                boolean ok = exponent <= options.maxExponent;
+                passed &= ok;
+                System.out.printf("%-22s %-22s %11.3f %12.3f %9.2f  %s%n", dimension.description, entry.getKey(),
+                        nanos[0] / 1_000_000.0, nanos[nanos.length - 1] / 1_000_000.0, exponent, ok ? "ok" : "FAIL");
+            }
+        }
+        if (!passed) {
+            System.out.printf("FAIL: at least one stage grows faster than size^%.2f%n", options.maxExponent);
+        }
+        return passed ? 0 : 1;
+    }
+
+    // Loads classes and lets the JIT compile the hot paths so the smallest sizes aren't measuring the interpreter
+    private void warmUp() throws Exception {
+        for (Dimension dimension : Dimension.values()) {
+            ResumeData data = buildData(dimension, dimension.baseSize * 4);
+            for (int i = 0; i < 3; i++) {
+                InputValidator.validateResumeData(data);
+                for (String templateName : pdfGenerator.getTemplateNames()) {
+                    pdfGenerator.render(data, templateName, null, options.profile);
+                }
+            }
+        }
+    }
+
+    // Minimum over reps of the per-stage time at each size; the minimum is the sample least disturbed by GC
+    private Map<String, double[]> sweep(Dimension dimension, int[] sizes) throws Exception {
+        Map<String, double[]> timings = new LinkedHashMap<>();
+        timings.put("validate", filled(sizes.length));
+        for (String templateName : pdfGenerator.getTemplateNames()) {
+            timings.put(templateName + " layout", filled(sizes.length));
+            timings.put(templateName + " encode", filled(sizes.length));
+        }
+        for (int s = 0; s < sizes.length; s++) {
+            ResumeData data = buildData(dimension, sizes[s]);
+            for (int rep = 0; rep < options.reps; rep++) {
+                keepMin(timings.get("validate"), s, timeValidation(data));
+                for (String templateName : pdfGenerator.getTemplateNames()) {
+                    RenderResult result = pdfGenerator.render(data, templateName, null, options.profile);
+                    keepMin(timings.get(templateName + " layout"), s, result.getLayoutNanos());
+                    keepMin(timings.get(templateName + " encode"), s, result.getEncodeNanos());
+                }
+            }
+        }
+        return timings;
+    }
+
+    // Validation of one record takes microseconds, so it is repeated until the sample is long enough to time
+    private static double timeValidation(ResumeData data) {
+        int iterations = 0;
+        long start = System.nanoTime();
+        long elapsed;
+        do {
+            InputValidator.validateResumeData(data);
+            iterations++;
+            elapsed = System.nanoTime() - start;
+        } while (elapsed < MIN_SAMPLE_NANOS);
+        return (double) elapsed / iterations;
+    }
+
+    private int[] sizes(Dimension dimension) {
+        int[] sizes = new int[options.steps];
+        for (int i = 0; i < sizes.length; i++) {
+            sizes[i] = dimension.baseSize << i;
+        }
+        return sizes;
+    }
+
+    // Least-squares slope of ln(time) against ln(size): 1 is linear, 2 quadratic
+    static double fitExponent(int[] sizes, double[] nanos) {
+        int n = sizes.length;
+        double sumX = 0, sumY = 0, sumXX = 0, sumXY = 0;
+        for (int i = 0; i < n; i++) {
+            double x = Math.log(sizes[i]);
+            double y = Math.log(Math.max(1, nanos[i]));
+            sumX += x;
+            sumY += y;
+            sumXX += x * x;
+            sumXY += x * y;
+        }
+        return (n * sumXY - sumX * sumY) / (n * sumXX - sumX * sumX);
+    }
+
+    static ResumeData buildData(Dimension dimension, int size) {
+        ResumeData data = PdfWarmup.sampleData();
+        switch (dimension) {
+            case CHARS: {
+                String text = words(size);
+                fillAllFields(data, text);
+                data.getObjective().setText(text);
+                data.getWorkExperience().setEntries(List.of(text));
+                data.getSkills().setEntries(List.of(text));
+                break;
+            }
+            case LINES: {
+                List<String> lines = new ArrayList<>();
+                for (int i = 0; i < size; i++) {
+                    lines.add("Entry " + (i + 1) + " with a short description");
+                }
+                data.getObjective().setText(String.join("\n", lines));
+                data.getWorkExperience().setEntries(lines);
+                data.getSkills().setEntries(lines);
+                break;
+            }
+            case WORD: {
+                // One unbreakable token per field, the worst case for the line breaker and the validators' regexes
+                String word = String.join("", Collections.nCopies(size, "a"));
+                fillAllFields(data, word);
+                data.getContactInformation().getFields().set(1, word + "@" + word);
+                data.getObjective().setText(word);
+                data.getWorkExperience().setEntries(List.of(word));
+                data.getSkills().setEntries(List.of(word));
+                break;
+            }
+        }
+        return data;
+    }
+
+    private static void fillAllFields(ResumeData data, String text) {
+        List<String> personal = data.getPersonalInformation().getFields();
+        for (int i = 0; i < personal.size(); i++) {
+            personal.set(i, text);
+        }
+        List<String> contact = data.getContactInformation().getFields();
+        for (int i = 0; i < contact.size(); i++) {
+            contact.set(i, text);
+        }
+        Education education = data.getEducation();
+        education.setCollegeName(text);
+        education.setProgram(text);
+        education.setCollegeYear(text);
+        education.setShsName(text);
+        education.setStrand(text);
+        education.setShsYear(text);
+        education.setJhsName(text);
+        education.setJhsYear(text);
+    }
+
+    private static String words(int length) {
+        String source = "Led a team of engineers delivering reporting tools and data pipelines for regional offices. ";
+        StringBuilder text = new StringBuilder(length);
+        while (text.length() < length) {
+            text.append(source, 0, Math.min(source.length(), length - text.length()));
+        }
+        return text.toString().trim();
+    }
+
+    private static double[] filled(int length) {
+        double[] values = new double[length];
+        Arrays.fill(values, Double.MAX_VALUE);
+        return values;
+    }
+
+    private static void keepMin(double[] values, int index, double nanos) {
+        values[index] = Math.min(values[index], nanos);
+    }
+}
@@ -0,0 +1,536 @@
+package com.resumebuilder.controller;
+
+import com.resumebuilder.model.ResumeData;
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
+import org.apache.pdfbox.pdmodel.font.Standard14Fonts;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+// A template described in JSON and compiled once into an immutable list of steps. Fonts, line breakers, field
+// getters, column geometry and every literal string (normalized, and positioned if aligned) are resolved at
+// compile time, so drawing only reads fields and emits canvas calls, like the hand-written templates.
+//
+// {"name": "...", "version": "1", "margins": {"left": 50, "right": 50, "top": 50},
+//  "columns": [{"id": "left", "width": 1}, {"id": "right", "width": 1}], "gap": 20,
+//  "blocks": [{"type": "text", "column": "page", "font": "Helvetica-Bold", "size": 16,
+//              "text": "{personal.0|Your Name}", "transform": "upper", "align": "center", "leading": 25}, ...]}
+//
+// Block types: text, lines, paragraph, bullets, rule, image, clear, sync. Every block takes "column" (default
+// "page", the full width between the margins) plus "before" and "after" spacing; text takes {field} or
+// {field|fallback} placeholders using the ResumeFields keys.
+public final class DeclarativeTemplate implements ResumeTemplate {
+    private static final float PAGE_WIDTH = PDRectangle.A4.getWidth();
+    private static final float PAGE_HEIGHT = PDRectangle.A4.getHeight();
+    private static final String PAGE_COLUMN = "page";
+
+    private enum Align {
+        LEFT, CENTER, RIGHT
+    }
+
+    private static final class Column {
+        final float x;
+        final float width;
+
+        Column(float x, float width) {
+            this.x = x;
+            this.width = width;
+        }
+    }
+
+    // Per-draw state: the next baseline of each column and the bottom of any floating image in it
+    private static final class Cursor {
+        final float[] y;
+        final float[] floor;
+
+        Cursor(int columns, float top) {
+            y = new float[columns];
+            floor = new float[columns];
+            Arrays.fill(y, top);
+            Arrays.fill(floor, Float.MAX_VALUE);
+        }
+    }
+
+    private abstract static class Step {
+        final int column;
+        final float before;
+        final float after;
+
+        Step(int column, float before, float after) {
+            this.column = column;
+            this.before = before;
+            this.after = after;
+        }
+
+        final void run(PageCanvas canvas, ResumeData data, BufferedImage image, Cursor cursor) throws Exception {
+            cursor.y[column] -= before;
+            draw(canvas, data, image, cursor);
+            cursor.y[column] -= after;
+        }
+
+        abstract void draw(PageCanvas canvas, ResumeData data, BufferedImage image, Cursor cursor) throws Exception;
+    }
+
+    private final String name;
+    private final String version;
+    private final boolean supportsImage;
+    private final int columnCount;
+    private final float top;
+    private final List<Step> steps;
+
+    private DeclarativeTemplate(String name, String version, boolean supportsImage, int columnCount, float top, List<Step> steps) {
+        this.name = name;
+        this.version = version;
+        this.supportsImage = supportsImage;
+        this.columnCount = columnCount;
+        this.top = top;
+        this.steps = steps;
+    }
+
+    @Override
+    public void draw(PageCanvas canvas, ResumeData data, BufferedImage image) throws Exception {
+        Cursor cursor = new Cursor(columnCount, top);
+        for (Step step : steps) {
+            step.run(canvas, data, image, cursor);
+        }
+    }
+
+    @Override
+    public boolean supportsImage() {
+        return supportsImage;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    // The declared version plus a digest of the description, so any edit re-renders incremental batch outputs
+    @Override
+    public String getVersion() {
+        return version;
+    }
+
+    public static DeclarativeTemplate compile(String json) throws IOException {
+        Map<String, Object> root = JsonReader.parseObject(json);
+        String name = requireString(root, "name");
+        byte[] digest = ResumeDataHasher.newDigest().digest(json.getBytes(StandardCharsets.UTF_8));
+        String version = optString(root, "version", "1") + "-" + ResumeDataHasher.toHex(digest).substring(0, 12);
+
+        Map<String, Object> margins = optObject(root, "margins");
+        float left = optFloat(margins, "left", 50);
+        float right = optFloat(margins, "right", 50);
+        float top = PAGE_HEIGHT - optFloat(margins, "top", 50);
+        float contentWidth = PAGE_WIDTH - left - right;
+
+        Map<String, Integer> columnIds = new HashMap<>();
+        List<Column> columns = new ArrayList<>();
+        columnIds.put(PAGE_COLUMN, 0);
+        columns.add(new Column(left, contentWidth));
+        List<Object> columnSpecs = optList(root, "columns");
+        if (!columnSpecs.isEmpty()) {
+            float gap = optFloat(root, "gap", 20);
+            float totalWeight = 0;
+            for (Object spec : columnSpecs) {
+                totalWeight += optFloat(asObject(spec, "column"), "width", 1);
+            }
+            float available = contentWidth - gap * (columnSpecs.size() - 1);
+            float x = left;
+            for (Object spec : columnSpecs) {
+                Map<String, Object> column = asObject(spec, "column");
+                String id = requireString(column, "id");
+                if (columnIds.containsKey(id)) {
+                    throw new IllegalArgumentException("Duplicate column: " + id);
+                }
+                float width = available * optFloat(column, "width", 1) / totalWeight;
+                columnIds.put(id, columns.size());
+                columns.add(new Column(x, width));
+                x += width + gap;
+            }
+        }
+
+        List<Step> steps = new ArrayList<>();
+        boolean supportsImage = false;
+        for (Object spec : optList(root, "blocks")) {
+            Map<String, Object> block = asObject(spec, "block");
+            String type = requireString(block, "type");
+            String columnId = optString(block, "column", PAGE_COLUMN);
+            Integer column = columnIds.get(columnId);
+            if (column == null) {
+                throw new IllegalArgumentException("Unknown column: " + columnId);
+            }
+            supportsImage |= "image".equals(type);
+            steps.add(compileBlock(type, block, column, columns.get(column), columnIds));
+        }
+        return new DeclarativeTemplate(name, version, supportsImage, columns.size(), top, Collections.unmodifiableList(steps));
+    }
+
+    private static Step compileBlock(String type, Map<String, Object> block, int column, Column bounds, Map<String, Integer> columnIds) throws IOException {
+        float before = optFloat(block, "before", 0);
+        float after = optFloat(block, "after", 0);
+        switch (type) {
+            case "text":
+                return new LinesStep(column, before, after, font(block), optFloat(block, "size", 10), bounds, align(block),
+                        Collections.singletonList(compileText(requireString(block, "text"))), upper(block), optFloat(block, "leading", -1));
+            case "lines": {
+                List<Function<ResumeData, String>> lines = new ArrayList<>();
+                for (Object line : optList(block, "lines")) {
+                    lines.add(compileText(String.valueOf(line)));
+                }
+                return new LinesStep(column, before, after, font(block), optFloat(block, "size", 10), bounds, align(block),
+                        lines, upper(block), optFloat(block, "leading", -1));
+            }
+            case "paragraph":
+            case "bullets": {
+                boolean bullets = "bullets".equals(type);
+                return new ParagraphStep(column, before, after, font(block), optFloat(block, "size", 10), bounds,
+                        ResumeFields.linesAccessor(requireString(block, "field")), optFloat(block, "leading", -1),
+                        bullets ? optString(block, "bullet", "\u2022 ") : null, bullets ? optFloat(block, "indent", 10) : 0);
+            }
+            case "rule":
+                return new RuleStep(column, before, after, optFloat(block, "lineWidth", 1), bounds);
+            case "image":
+                return new ImageStep(column, before, after, bounds, align(block), optFloat(block, "scale", 0.2f),
+                        optFloat(block, "raise", 0), Boolean.TRUE.equals(block.get("float")));
+            case "clear":
+                return new ClearStep(column, before, after);
+            case "sync": {
+                List<Object> ids = optList(block, "columns");
+                int[] synced = new int[ids.isEmpty() ? columnIds.size() : ids.size()];
+                if (ids.isEmpty()) {
+                    for (int i = 0; i < synced.length; i++) synced[i] = i;
+                } else {
+                    for (int i = 0; i < synced.length; i++) {
+                        Integer index = columnIds.get(String.valueOf(ids.get(i)));
+                        if (index == null) {
+                            throw new IllegalArgumentException("Unknown column: " + ids.get(i));
+                        }
+                        synced[i] = index;
+                    }
+                }
+                return new SyncStep(column, before, after, synced);
+            }
+            default:
+                throw new IllegalArgumentException("Unknown block type: " + type);
+        }
+    }
+
+    // One or more single-line strings, each advancing the column by the leading (1.5 x size by default)
+    private static final class LinesStep extends Step {
+        private final Standard14Fonts.FontName fontName;
+        private final float fontSize;
+        private final TextPreparer preparer;
+        private final Column bounds;
+        private final Align align;
+        private final List<Function<ResumeData, String>> sources;
+        private final boolean upper;
+        private final float leading;
+        // Literal lines are finished at compile time; null where a line depends on the data
+        private final String[] constantText;
+        private final float[] constantX;
+
+        LinesStep(int column, float before, float after, Standard14Fonts.FontName fontName, float fontSize, Column bounds, Align align,
+                  List<Function<ResumeData, String>> sources, boolean upper, float leading) throws IOException {
+            super(column, before, after);
+            this.fontName = fontName;
+            this.fontSize = fontSize;
+            this.preparer = TextPreparer.forStandardFont(fontName);
+            this.bounds = bounds;
+            this.align = align;
+            this.sources = sources;
+            this.upper = upper;
+            this.leading = leading < 0 ? 1.5f * fontSize : leading;
+            this.constantText = new String[sources.size()];
+            this.constantX = new float[sources.size()];
+            for (int i = 0; i < sources.size(); i++) {
+                if (sources.get(i) instanceof ConstantText) {
+                    constantText[i] = finish(sources.get(i).apply(null));
+                    constantX[i] = xFor(constantText[i]);
+                }
+            }
+        }
+
+        @Override
+        void draw(PageCanvas canvas, ResumeData data, BufferedImage image, Cursor cursor) throws Exception {
+            canvas.setFont(fontName, fontSize);
+            for (int i = 0; i < sources.size(); i++) {
+                String text = constantText[i];
+                float x = constantX[i];
+                if (text == null) {
+                    text = finish(sources.get(i).apply(data));
+                    x = xFor(text);
+                }
+                canvas.showText(x, cursor.y[column], text);
+                cursor.y[column] -= leading;
+            }
+        }
+
+        private String finish(String text) {
+            return preparer.normalize(upper ? text.toUpperCase() : text);
+        }
+
+        private float xFor(String text) {
+            if (align == Align.LEFT) return bounds.x;
+            float width = preparer.prepare(text, fontSize).getWidth();
+            return align == Align.CENTER ? bounds.x + (bounds.width - width) / 2 : bounds.x + bounds.width - width;
+        }
+    }
+
+    // A field wrapped to the column width, one paragraph per entry or line; with a bullet, blank entries are skipped
+    private static final class ParagraphStep extends Step {
+        private final Standard14Fonts.FontName fontName;
+        private final LineBreaker breaker;
+        private final Column bounds;
+        private final Function<ResumeData, List<String>> lines;
+        private final float leading;
+        private final String bullet;
+        private final float indent;
+
+        ParagraphStep(int column, float before, float after, Standard14Fonts.FontName fontName, float fontSize, Column bounds,
+                      Function<ResumeData, List<String>> lines, float leading, String bullet, float indent) throws IOException {
+            super(column, before, after);
+            this.fontName = fontName;
+            this.breaker = LineBreaker.forStandardFont(fontName, fontSize);
+            this.bounds = bounds;
+            this.lines = lines;
+            this.leading = leading < 0 ? 1.5f * fontSize : leading;
+            this.bullet = bullet;
+            this.indent = indent;
+        }
+
+        @Override
+        void draw(PageCanvas canvas, ResumeData data, BufferedImage image, Cursor cursor) throws Exception {
+            canvas.setFont(fontName, breaker.getFontSize());
+            List<String> entries = lines.apply(data);
+            if (entries.isEmpty() && bullet == null) {
+                // An empty section still takes one blank line, like the built-in templates
+                entries = Collections.singletonList("");
+            }
+            float y = cursor.y[column];
+            for (String line : entries) {
+                if (bullet != null && line.trim().isEmpty()) continue;
+                PreparedText preparedLine = breaker.prepare(line);
+                int[] lineBounds = breaker.breakLines(preparedLine, bounds.width - indent);
+                for (int i = 0; i < lineBounds.length; i += 2) {
+                    if (bullet != null && i == 0) {
+                        canvas.showText(bounds.x, y, bullet);
+                    }
+                    canvas.showText(bounds.x + indent, y, preparedLine.substring(lineBounds[i], lineBounds[i + 1]));
+                    y -= leading;
+                }
+            }
+            cursor.y[column] = y;
+        }
+    }
+
+    private static final class RuleStep extends Step {
+        private final float lineWidth;
+        private final Column bounds;
+
+        RuleStep(int column, float before, float after, float lineWidth, Column bounds) {
+            super(column, before, after);
+            this.lineWidth = lineWidth;
+            this.bounds = bounds;
+        }
+
+        @Override
+        void draw(PageCanvas canvas, ResumeData data, BufferedImage image, Cursor cursor) throws Exception {
+            canvas.setLineWidth(lineWidth);
+            canvas.drawLine(bounds.x, cursor.y[column], bounds.x + bounds.width, cursor.y[column]);
+        }
+    }
+
+    // The profile picture with its top at the column's position (plus raise); a floating image leaves the
+    // column where it was and only lowers the floor that a later clear block moves down to
+    private static final class ImageStep extends Step {
+        private final Column bounds;
+        private final Align align;
+        private final float scale;
+        private final float raise;
+        private final boolean floating;
+
+        ImageStep(int column, float before, float after, Column bounds, Align align, float scale, float raise, boolean floating) {
+            super(column, before, after);
+            this.bounds = bounds;
+            this.align = align;
+            this.scale = scale;
+            this.raise = raise;
+            this.floating = floating;
+        }
+
+        @Override
+        void draw(PageCanvas canvas, ResumeData data, BufferedImage image, Cursor cursor) throws Exception {
+            if (image == null) return;
+            float width = image.getWidth() * scale;
+            float height = image.getHeight() * scale;
+            float x = align == Align.LEFT ? bounds.x : align == Align.CENTER ? bounds.x + (bounds.width - width) / 2 : bounds.x + bounds.width - width;
+            float y = cursor.y[column] + raise - height;
+            canvas.drawImage(image, x, y, width, height);
+            if (floating) {
+                cursor.floor[column] = Math.min(cursor.floor[column], y);
+            } else {
+                cursor.y[column] = y;
+            }
+        }
+    }
+
+    private static final class ClearStep extends Step {
+        ClearStep(int column, float before, float after) {
+            super(column, before, after);
+        }
+
+        @Override
+        void draw(PageCanvas canvas, ResumeData data, BufferedImage image, Cursor cursor) {
+            cursor.y[column] = Math.min(cursor.y[column], cursor.floor[column]);
+            cursor.floor[column] = Float.MAX_VALUE;
+        }
+    }
+
+    // Moves the listed columns (all by default) down to the lowest of them, e.g. to start columns below a header
+    private static final class SyncStep extends Step {
+        private final int[] columns;
+
+        SyncStep(int column, float before, float after, int[] columns) {
+            super(column, before, after);
+            this.columns = columns;
+        }
+
+        @Override
+        void draw(PageCanvas canvas, ResumeData data, BufferedImage image, Cursor cursor) {
+            float lowest = Float.MAX_VALUE;
+            for (int index : columns) {
+                lowest = Math.min(lowest, cursor.y[index]);
+            }
+            for (int index : columns) {
+                cursor.y[index] = lowest;
+            }
+        }
+    }
+
+    private static final class ConstantText implements Function<ResumeData, String> {
+        private final String text;
+
+        ConstantText(String text) {
+            this.text = text;
+        }
+
+        @Override
+        public String apply(ResumeData data) {
+            return text;
+        }
+    }
+
+    // Splits "Age: {personal.1}" into literal and field parts; a field shows its fallback when blank
+    private static Function<ResumeData, String> compileText(String text) {
+        List<Object> parts = new ArrayList<>();
+        int pos = 0;
+        while (pos < text.length()) {
+            int open = text.indexOf('{', pos);
+            if (open < 0) {
+                parts.add(text.substring(pos));
+                break;
+            }
+            int close = text.indexOf('}', open);
+            if (close < 0) {
+                throw new IllegalArgumentException("Unclosed '{' in: " + text);
+            }
+            if (open > pos) {
+                parts.add(text.substring(pos, open));
+            }
+            String placeholder = text.substring(open + 1, close);
+            int bar = placeholder.indexOf('|');
+            Function<ResumeData, String> field = ResumeFields.accessor(bar < 0 ? placeholder : placeholder.substring(0, bar));
+            String fallback = bar < 0 ? "" : placeholder.substring(bar + 1);
+            parts.add((Function<ResumeData, String>) data -> {
+                String value = field.apply(data);
+                return value == null || value.trim().isEmpty() ? fallback : value;
+            });
+            pos = close + 1;
+        }
+        if (parts.isEmpty() || (parts.size() == 1 && parts.get(0) instanceof String)) {
+            return new ConstantText(parts.isEmpty() ? "" : (String) parts.get(0));
+        }
+        return data -> {
+            StringBuilder resolved = new StringBuilder();
+            for (Object part : parts) {
+                if (part instanceof String) {
+                    resolved.append((String) part);
+                } else {
+                    @SuppressWarnings("unchecked")
+                    Function<ResumeData, String> field = (Function<ResumeData, String>) part;
+                    resolved.append(field.apply(data));
+                }
+            }
+            return resolved.toString();
+        };
+    }
+
+    private static Standard14Fonts.FontName font(Map<String, Object> block) {
+        String fontName = optString(block, "font", "Helvetica");
+        for (Standard14Fonts.FontName candidate : Standard14Fonts.FontName.values()) {
+            if (candidate.getName().equalsIgnoreCase(fontName)) return candidate;
+        }
+        throw new IllegalArgumentException("Not a Standard 14 font: " + fontName);
+    }
+
+    private static Align align(Map<String, Object> block) {
+        try {
+            return Align.valueOf(optString(block, "align", "left").toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("align must be left, center or right");
+        }
+    }
+
+    private static boolean upper(Map<String, Object> block) {
+        return "upper".equals(optString(block, "transform", ""));
+    }
+
+    private static String requireString(Map<String, Object> object, String key) {
+        Object value = object.get(key);
+        if (!(value instanceof String)) {
+            throw new IllegalArgumentException("Missing \"" + key + "\"");
+        }
+        return (String) value;
+    }
+
+    private static String optString(Map<String, Object> object, String key, String fallback) {
+        Object value = object.get(key);
+        return value == null ? fallback : String.valueOf(value);
+    }
+
+    private static float optFloat(Map<String, Object> object, String key, float fallback) {
+        Object value = object.get(key);
+        if (value == null) return fallback;
+        if (!(value instanceof Double)) {
+            throw new IllegalArgumentException("\"" + key + "\" must be a number");
+        }
+        return ((Double) value).floatValue();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> optObject(Map<String, Object> object, String key) {
+        Object value = object.get(key);
+        return value instanceof Map ? (Map<String, Object>) value : Collections.emptyMap();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<Object> optList(Map<String, Object> object, String key) {
+        Object value = object.get(key);
+        return value instanceof List ? (List<Object>) value : Collections.emptyList();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> asObject(Object value, String what) {
+        if (!(value instanceof Map)) {
+            throw new IllegalArgumentException("Each " + what + " must be a JSON object");
+        }
+        return (Map<String, Object>) value;
+    }
+}
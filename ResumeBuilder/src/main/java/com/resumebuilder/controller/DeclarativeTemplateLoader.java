@@ -0,0 +1,128 @@
+package com.resumebuilder.controller;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+// Loads the *.json templates in a directory and keeps each compiled plan until its file changes.
+// The directory is re-listed at most once per interval, so looking a template up for every record of a batch
+// costs a map lookup; an edited file is recompiled on the next lookup after that, which is how templates hot-reload.
+public class DeclarativeTemplateLoader {
+    private static final long RESCAN_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private static final class Loaded {
+        final long modified;
+        final long size;
+        final DeclarativeTemplate template;
+
+        Loaded(long modified, long size, DeclarativeTemplate template) {
+            this.modified = modified;
+            this.size = size;
+            this.template = template;
+        }
+    }
+
+    private final Path directory;
+    private final Set<String> reservedNames = new HashSet<>();
+    private final Map<Path, Loaded> loaded = new HashMap<>();
+    // Lower-cased name to template, rebuilt on every rescan
+    private volatile Map<String, DeclarativeTemplate> byName = new TreeMap<>();
+    private long lastScanNanos;
+    private boolean scanned;
+
+    public DeclarativeTemplateLoader(Path directory, List<String> reservedNames) {
+        this.directory = directory;
+        for (String name : reservedNames) {
+            this.reservedNames.add(name.toLowerCase());
+        }
+    }
+
+    // The resumebuilder.templates.dir system property, else ~/.resumebuilder/templates
+    public static Path defaultDirectory() {
+        String configured = System.getProperty("resumebuilder.templates.dir");
+        if (configured != null && !configured.isEmpty()) {
+            return Paths.get(configured);
+        }
+        return Paths.get(System.getProperty("user.home"), ".resumebuilder", "templates");
+    }
+
+    public List<String> getNames() {
+        List<String> names = new ArrayList<>();
+        for (DeclarativeTemplate template : templates().values()) {
+            names.add(template.getName());
+        }
+        return names;
+    }
+
+    public DeclarativeTemplate find(String name) {
+        return templates().get(name.toLowerCase());
+    }
+
+    private synchronized Map<String, DeclarativeTemplate> templates() {
+        long now = System.nanoTime();
+        if (!scanned || now - lastScanNanos >= RESCAN_INTERVAL_NANOS) {
+            scanned = true;
+            lastScanNanos = now;
+            rescan();
+        }
+        return byName;
+    }
+
+    // Caller holds the lock
+    private void rescan() {
+        Map<Path, Loaded> current = new HashMap<>();
+        if (Files.isDirectory(directory)) {
+            try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*.json")) {
+                for (Path file : files) {
+                    Loaded entry = load(file);
+                    if (entry != null) current.put(file, entry);
+                }
+            } catch (IOException ex) {
+                System.err.println("Failed to list templates in " + directory + ": " + ex.getMessage());
+                return;
+            }
+        }
+        loaded.clear();
+        loaded.putAll(current);
+
+        Map<String, DeclarativeTemplate> names = new TreeMap<>();
+        for (Map.Entry<Path, Loaded> entry : current.entrySet()) {
+            String key = entry.getValue().template.getName().toLowerCase();
+            if (reservedNames.contains(key)) {
+                System.err.println("Ignoring " + entry.getKey().getFileName() + ": \"" + entry.getValue().template.getName() + "\" is a built-in template");
+            } else if (names.putIfAbsent(key, entry.getValue().template) != null) {
+                System.err.println("Ignoring " + entry.getKey().getFileName() + ": another template is already named \"" + entry.getValue().template.getName() + "\"");
+            }
+        }
+        byName = names;
+    }
+
+    // Reuses the compiled plan while modification time and size are unchanged; a file that no longer compiles
+    // keeps its last good plan so a half-saved edit doesn't make the template disappear
+    private Loaded load(Path file) {
+        Loaded previous = loaded.get(file);
+        try {
+            long modified = Files.getLastModifiedTime(file).toMillis();
+            long size = Files.size(file);
+            if (previous != null && previous.modified == modified && previous.size == size) {
+                return previous;
+            }
+            String json = new String(Files.readAllBytes(file), StandardCharsets.UTF_8);
+            return new Loaded(modified, size, DeclarativeTemplate.compile(json));
+        } catch (IOException | RuntimeException ex) {
+            System.err.println("Failed to load template " + file.getFileName() + ": " + ex.getMessage());
+            return previous;
+        }
+    }
+}
@@ -0,0 +1,256 @@
+package com.resumebuilder.controller;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+// Watch-folder mode: every *.json file dropped into the directory is rendered to a PDF of the same name next to it,
+// and re-rendered whenever it changes. Events are debounced per file, so a writer saving in several chunks
+// triggers one render once the file has been quiet for the debounce interval. Deleting a file removes its PDF;
+// at most one render or removal per file is in flight at a time.
+public class FolderWatcher {
+
+    public static class Options {
+        Path directory;
+        String template = "Default";
+        OutputProfile profile = OutputProfile.DEFAULT;
+        int threads = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        long debounceMillis = 300;
+
+        public static Options parse(String[] args) {
+            Options options = new Options();
+            for (int i = 0; i < args.length; i++) {
+                String arg = args[i];
+                if (i + 1 >= args.length) {
+                    throw new IllegalArgumentException("Missing value for " + arg);
+                }
+                switch (arg) {
+                    case "--watch": options.directory = Paths.get(args[++i]); break;
+                    case "--template": options.template = args[++i]; break;
+                    case "--profile": options.profile = OutputProfile.fromName(args[++i]); break;
+                    case "--threads": options.threads = Integer.parseInt(args[++i]); break;
+                    case "--debounce-ms": options.debounceMillis = Long.parseLong(args[++i]); break;
+                    default: throw new IllegalArgumentException("Unknown option: " + arg);
+                }
+            }
+            if (options.directory == null || !Files.isDirectory(options.directory)) {
+                throw new IllegalArgumentException("--watch must name an existing directory");
+            }
+            if (options.threads < 1) {
+                throw new IllegalArgumentException("--threads must be at least 1");
+            }
+            return options;
+        }
+    }
+
+    private final PdfGenerator pdfGenerator;
+    private final Options options;
+    private final RenderScheduler scheduler;
+    // Files waiting for their debounce interval to pass, with the System.nanoTime() deadline
+    private final Map<Path, Long> pending = new HashMap<>();
+    private final Set<Path> rendering = ConcurrentHashMap.newKeySet();
+    // Content digest of the last successful render per file, so touching a file doesn't re-render it
+    private final Map<Path, String> renderedDigests = new ConcurrentHashMap<>();
+    // Field values and outstanding validation errors of the last version read per file; a new version only
+    // has the fields that changed re-validated
+    private final IncrementalValidator validator = new IncrementalValidator();
+    private final Map<Path, Map<String, String>> previousFields = new ConcurrentHashMap<>();
+    private final Map<Path, Map<String, String>> fieldErrors = new ConcurrentHashMap<>();
+    private volatile WatchService watchService;
+
+    public FolderWatcher(PdfGenerator pdfGenerator, Options options) {
+        this.pdfGenerator = pdfGenerator;
+        this.options = options;
+        this.scheduler = new RenderScheduler(options.threads, options.threads, options.threads, options.threads, RenderScheduler.DEFAULT_AGING_MILLIS);
+    }
+
+    public static boolean isWatchInvocation(String[] args) {
+        return Arrays.asList(args).contains("--watch");
+    }
+
+    // Blocks until the watch service is closed, e.g. by the shutdown hook on Ctrl+C
+    public int run() throws Exception {
+        pdfGenerator.createTemplate(options.template);
+        Path directory = options.directory.toAbsolutePath();
+        watchService = directory.getFileSystem().newWatchService();
+        directory.register(watchService, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE);
+        Runtime.getRuntime().addShutdownHook(new Thread(this::close, "folder-watcher-close"));
+        System.out.println("Watching " + directory + " (" + options.template + " template); press Ctrl+C to stop");
+
+        scanStale(directory);
+        long debounceNanos = TimeUnit.MILLISECONDS.toNanos(options.debounceMillis);
+        try {
+            while (true) {
+                // Blocks without a timeout while nothing is pending, so an idle folder costs no CPU
+                WatchKey key = pending.isEmpty() ? watchService.take() : watchService.poll(nanosUntilNextDeadline(), TimeUnit.NANOSECONDS);
+                if (key != null) {
+                    for (WatchEvent<?> event : key.pollEvents()) {
+                        if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                            // Events were dropped; fall back to comparing every file with its PDF
+                            scanStale(directory);
+                            continue;
+                        }
+                        Path file = directory.resolve((Path) event.context());
+                        if (!isInput(file)) continue;
+                        if (event.kind() == StandardWatchEventKinds.ENTRY_DELETE) {
+                            // Due at once, but dispatched like a change: it waits for a render of the file that is
+                            // still running, which would otherwise write the PDF back after it was removed
+                            pending.put(file, System.nanoTime());
+                        } else {
+                            pending.put(file, System.nanoTime() + debounceNanos);
+                        }
+                    }
+                    if (!key.reset()) {
+                        System.err.println("Watched directory is no longer accessible: " + directory);
+                        return 1;
+                    }
+                }
+                dispatchDue(debounceNanos);
+            }
+        } catch (ClosedWatchServiceException | InterruptedException stopped) {
+            return 0;
+        } finally {
+            scheduler.shutdown();
+            scheduler.awaitTermination();
+        }
+    }
+
+    public void close() {
+        WatchService service = watchService;
+        if (service != null) {
+            try {
+                service.close();
+            } catch (IOException ignored) {
+            }
+        }
+    }
+
+    private long nanosUntilNextDeadline() {
+        long now = System.nanoTime();
+        long next = Long.MAX_VALUE;
+        for (long deadline : pending.values()) {
+            next = Math.min(next, deadline - now);
+        }
+        return Math.max(0, next);
+    }
+
+    private void dispatchDue(long debounceNanos) {
+        long now = System.nanoTime();
+        Iterator<Map.Entry<Path, Long>> entries = pending.entrySet().iterator();
+        while (entries.hasNext()) {
+            Map.Entry<Path, Long> entry = entries.next();
+            if (entry.getValue() - now > 0) continue;
+            Path file = entry.getKey();
+            if (!rendering.add(file)) {
+                // Still rendering the previous version; look again after another interval
+                entry.setValue(now + debounceNanos);
+                continue;
+            }
+            entries.remove();
+            scheduler.execute(RenderScheduler.Priority.NORMAL, () -> {
+                try {
+                    render(file);
+                } finally {
+                    rendering.remove(file);
+                }
+            });
+        }
+    }
+
+    // Queues every input whose PDF is missing or older than it, e.g. files added while the watcher was down
+    private void scanStale(Path directory) throws IOException {
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*.json")) {
+            for (Path file : files) {
+                if (!isInput(file)) continue;
+                Path output = outputFor(file);
+                if (!Files.exists(output) || Files.getLastModifiedTime(output).compareTo(Files.getLastModifiedTime(file)) < 0) {
+                    pending.put(file, System.nanoTime());
+                }
+            }
+        }
+    }
+
+    private void render(Path file) {
+        long start = System.nanoTime();
+        try {
+            if (!Files.exists(file)) {
+                removeOutput(file);
+                return;
+            }
+            String json = new String(Files.readAllBytes(file), StandardCharsets.UTF_8);
+            ResumeRecord record = ResumeRecord.fromJson(json.trim(), baseName(file));
+            String digest = ResumeDataHasher.digestHex(record.getData());
+            Path output = outputFor(file);
+            if (digest.equals(renderedDigests.get(file)) && Files.exists(output)) return;
+
+            Map<String, String> fields = ResumeFields.toMap(record.getData());
+            Map<String, String> errors = new LinkedHashMap<>(fieldErrors.getOrDefault(file, Collections.emptyMap()));
+            for (Map.Entry<String, String> checked : validator.validateChanges(previousFields.getOrDefault(file, Collections.emptyMap()), fields).entrySet()) {
+                if (checked.getValue() == null) {
+                    errors.remove(checked.getKey());
+                } else {
+                    errors.put(checked.getKey(), checked.getValue());
+                }
+            }
+            previousFields.put(file, fields);
+            fieldErrors.put(file, errors);
+            if (!errors.isEmpty()) {
+                System.err.println("Not rendering " + file.getFileName() + ": " + String.join(" ", errors.values()));
+                return;
+            }
+
+            byte[] pdf = pdfGenerator.render(record.getData(), options.template, null, options.profile).getBytes();
+            BatchRunner.writeAtomically(output, pdf);
+            renderedDigests.put(file, digest);
+            System.out.printf("Rendered %s -> %s (%.0f ms)%n", file.getFileName(), output.getFileName(), (System.nanoTime() - start) / 1_000_000.0);
+        } catch (Exception ex) {
+            // Most often a file still being written; its next change event brings it back
+            System.err.println("Failed to render " + file.getFileName() + ": " + ex.getMessage());
+        }
+    }
+
+    private void removeOutput(Path file) {
+        renderedDigests.remove(file);
+        previousFields.remove(file);
+        fieldErrors.remove(file);
+        try {
+            if (Files.deleteIfExists(outputFor(file))) {
+                System.out.println("Removed " + outputFor(file).getFileName());
+            }
+        } catch (IOException ex) {
+            System.err.println("Failed to remove output for " + file.getFileName() + ": " + ex.getMessage());
+        }
+    }
+
+    private static boolean isInput(Path file) {
+        String name = file.getFileName().toString();
+        return name.endsWith(".json") && !name.startsWith(".");
+    }
+
+    private static Path outputFor(Path file) {
+        return file.resolveSibling(baseName(file) + ".pdf");
+    }
+
+    private static String baseName(Path file) {
+        String name = file.getFileName().toString();
+        int dot = name.lastIndexOf('.');
+        return dot > 0 ? name.substring(0, dot) : name;
+    }
+}
@@ -0,0 +1,110 @@
+package com.resumebuilder.controller;
+
+import org.apache.pdfbox.pdmodel.font.Standard14Fonts;
+import java.awt.BasicStroke;
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.Graphics2D;
+import java.awt.GraphicsEnvironment;
+import java.awt.RenderingHints;
+import java.awt.font.GlyphVector;
+import java.awt.geom.Line2D;
+import java.awt.geom.Point2D;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+// Paints the template straight onto a Graphics2D for preview, skipping PDF serialization and parsing.
+// The graphics must already be scaled so that one user unit is one PDF point.
+public class Graphics2DPageCanvas implements PageCanvas {
+    private static final Set<String> INSTALLED_FAMILIES = installedFamilies();
+    // Same substitutes PDFBox's font mapper looks for when rendering the Standard 14 fonts
+    private static final String SANS_FAMILY = firstInstalled("Helvetica", "Arial", "Liberation Sans", "Nimbus Sans", "Nimbus Sans L", Font.SANS_SERIF);
+    private static final String SERIF_FAMILY = firstInstalled("Times New Roman", "Times", "Liberation Serif", "Nimbus Roman", Font.SERIF);
+    private static final String MONO_FAMILY = firstInstalled("Courier New", "Courier", "Liberation Mono", "Nimbus Mono PS", Font.MONOSPACED);
+
+    private final Graphics2D graphics;
+    private final float pageHeight;
+    private TextPreparer preparer;
+    private float fontSize;
+    private Font font;
+
+    public Graphics2DPageCanvas(Graphics2D graphics, float pageHeight) {
+        this.graphics = graphics;
+        this.pageHeight = pageHeight;
+        graphics.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        graphics.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+        graphics.setRenderingHint(RenderingHints.KEY_FRACTIONALMETRICS, RenderingHints.VALUE_FRACTIONALMETRICS_ON);
+        graphics.setRenderingHint(RenderingHints.KEY_STROKE_CONTROL, RenderingHints.VALUE_STROKE_PURE);
+        graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+        graphics.setColor(Color.BLACK);
+        graphics.setStroke(new BasicStroke(1, BasicStroke.CAP_BUTT, BasicStroke.JOIN_MITER));
+    }
+
+    @Override
+    public void setFont(Standard14Fonts.FontName fontName, float fontSize) throws IOException {
+        this.preparer = TextPreparer.forStandardFont(fontName);
+        this.fontSize = fontSize;
+        String name = fontName.getName();
+        int style = (name.contains("Bold") ? Font.BOLD : Font.PLAIN) | (name.contains("Oblique") || name.contains("Italic") ? Font.ITALIC : Font.PLAIN);
+        String family = name.startsWith("Times") ? SERIF_FAMILY : name.startsWith("Courier") ? MONO_FAMILY : SANS_FAMILY;
+        this.font = new Font(family, style, 1).deriveFont(fontSize);
+    }
+
+    // Every glyph is placed at the PDF font's advance rather than the substitute's own,
+    // so line widths, centering and wrapping match the exported page exactly
+    @Override
+    public void showText(float x, float y, String text) throws IOException {
+        if (text.isEmpty()) return;
+        GlyphVector glyphs = font.createGlyphVector(graphics.getFontRenderContext(), text);
+        if (glyphs.getNumGlyphs() == text.length()) {
+            float advance = 0;
+            for (int i = 0; i < text.length(); i++) {
+                glyphs.setGlyphPosition(i, new Point2D.Float(advance, 0));
+                advance += preparer.advance(text.charAt(i)) * fontSize;
+            }
+        }
+        graphics.drawGlyphVector(glyphs, x, pageHeight - y);
+    }
+
+    @Override
+    public void setLineWidth(float lineWidth) throws IOException {
+        graphics.setStroke(new BasicStroke(lineWidth, BasicStroke.CAP_BUTT, BasicStroke.JOIN_MITER));
+    }
+
+    @Override
+    public void drawLine(float x1, float y1, float x2, float y2) throws IOException {
+        graphics.draw(new Line2D.Float(x1, pageHeight - y1, x2, pageHeight - y2));
+    }
+
+    @Override
+    public void drawImage(BufferedImage image, float x, float y, float width, float height) throws IOException {
+        Graphics2D imageGraphics = (Graphics2D) graphics.create();
+        try {
+            imageGraphics.translate(x, pageHeight - y - height);
+            imageGraphics.scale(width / image.getWidth(), height / image.getHeight());
+            imageGraphics.drawImage(image, 0, 0, null);
+        } finally {
+            imageGraphics.dispose();
+        }
+    }
+
+    private static Set<String> installedFamilies() {
+        Set<String> installed = new HashSet<>();
+        try {
+            installed.addAll(Arrays.asList(GraphicsEnvironment.getLocalGraphicsEnvironment().getAvailableFontFamilyNames()));
+        } catch (Throwable ignored) {
+            // No font configuration at all; the logical family at the end of each list always exists
+        }
+        return installed;
+    }
+
+    private static String firstInstalled(String... families) {
+        for (String family : families) {
+            if (INSTALLED_FAMILIES.contains(family)) return family;
+        }
+        return families[families.length - 1];
+    }
+}
@@ -0,0 +1,65 @@
+package com.resumebuilder.controller;
+
+import java.awt.image.BufferedImage;
+import java.lang.ref.SoftReference;
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Map;
+
+// Recycles preview rasters by size, so each new preview draws into the tiles and thumbnails of the last one
+// instead of allocating fresh ones. Idle buffers are held through soft references, so the GC can still take them
+// under memory pressure, and the pool never holds more than its byte budget: releases beyond it are dropped.
+public class ImageBufferPool {
+    private final long budgetBytes;
+    private final Map<Long, ArrayDeque<SoftReference<BufferedImage>>> free = new HashMap<>();
+    // Counts buffers the GC may already have cleared, so it can only overstate what the pool holds
+    private long pooledBytes;
+    private long reused;
+    private long allocated;
+
+    public ImageBufferPool(long budgetBytes) {
+        this.budgetBytes = budgetBytes;
+    }
+
+    // An RGB image of exactly this size, with whatever pixels its last user left in it
+    public synchronized BufferedImage acquire(int width, int height) {
+        ArrayDeque<SoftReference<BufferedImage>> buffers = free.get(key(width, height));
+        while (buffers != null && !buffers.isEmpty()) {
+            BufferedImage image = buffers.pollFirst().get();
+            pooledBytes -= (long) width * height * Integer.BYTES;
+            if (image != null) {
+                reused++;
+                return image;
+            }
+        }
+        allocated++;
+        return new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+    }
+
+    // The caller must not touch the image afterwards. Its accelerated copy, if the display pipeline made one,
+    // is flushed now rather than when the image is collected.
+    public synchronized void release(BufferedImage image) {
+        if (image == null) return;
+        image.flush();
+        long size = BoundedImageCache.sizeOf(image);
+        if (image.getType() != BufferedImage.TYPE_INT_RGB || pooledBytes + size > budgetBytes) return;
+        free.computeIfAbsent(key(image.getWidth(), image.getHeight()), k -> new ArrayDeque<>()).addLast(new SoftReference<>(image));
+        pooledBytes += size;
+    }
+
+    public synchronized long getPooledBytes() {
+        return pooledBytes;
+    }
+
+    public synchronized long getReusedCount() {
+        return reused;
+    }
+
+    public synchronized long getAllocatedCount() {
+        return allocated;
+    }
+
+    private static long key(int width, int height) {
+        return ((long) width << 32) | height;
+    }
+}
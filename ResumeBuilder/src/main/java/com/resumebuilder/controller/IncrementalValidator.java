@@ -0,0 +1,92 @@
+package com.resumebuilder.controller;
+
+import com.resumebuilder.model.ResumeData;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
+
+// Validates one field at a time through InputValidator and remembers the outcome per field value, so a value
+// that has been checked before is never checked again. Shared by the editor (as-you-type), the watch folder
+// and batch mode; safe to use from several threads.
+public class IncrementalValidator {
+    // Recent values per field; bounded because every keystroke in the editor produces a new value
+    private static final int VALUES_PER_FIELD = 256;
+    // Stands in for "valid" in the caches, which can't hold null
+    private static final String VALID = "";
+
+    private final Map<String, Map<String, String>> results = new ConcurrentHashMap<>();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    // Returns the error message for the value, or null when it is valid or the field has no rule
+    public String validate(String key, String value) {
+        if (!InputValidator.isValidated(key)) return null;
+        String text = value == null ? "" : value;
+        Map<String, String> cache = results.computeIfAbsent(key, k -> newValueCache());
+        String result = cache.get(text);
+        if (result != null) {
+            hits.incrementAndGet();
+        } else {
+            misses.incrementAndGet();
+            String error = InputValidator.validateField(key, text);
+            result = error == null ? VALID : error;
+            cache.put(text, result);
+        }
+        return result.equals(VALID) ? null : result;
+    }
+
+    // Same messages and order as InputValidator.validateResumeData, answered from the cache where possible
+    public List<String> validateAll(ResumeData data) {
+        return validateAll(data, (key, error) -> { });
+    }
+
+    // As above, also reporting every validated field's outcome (null when valid) to onField, in the same order
+    public List<String> validateAll(ResumeData data, BiConsumer<String, String> onField) {
+        List<String> errors = new ArrayList<>();
+        Map<String, String> fields = ResumeFields.toMap(data);
+        for (String key : InputValidator.getValidatedFields()) {
+            String error = validate(key, fields.get(key));
+            onField.accept(key, error);
+            if (error != null) {
+                errors.add(error);
+            }
+        }
+        return errors;
+    }
+
+    // Checks only the validated fields whose value differs between two versions of a record (previous is empty
+    // for a record seen for the first time). The result maps each checked key to its error, or to null when the
+    // field is now valid, so a caller holding the previous version's errors can update them in place.
+    public Map<String, String> validateChanges(Map<String, String> previous, Map<String, String> current) {
+        Map<String, String> changed = new LinkedHashMap<>();
+        for (String key : InputValidator.getValidatedFields()) {
+            String value = current.get(key);
+            if (previous.containsKey(key) && Objects.equals(previous.get(key), value)) continue;
+            changed.put(key, validate(key, value));
+        }
+        return changed;
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    private static Map<String, String> newValueCache() {
+        return Collections.synchronizedMap(new LinkedHashMap<String, String>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+                return size() > VALUES_PER_FIELD;
+            }
+        });
+    }
+}
@@ -1,34 +1,65 @@
 package com.resumebuilder.controller;
 
+import com.resumebuilder.model.ResumeData;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.regex.Pattern;
 
 public class InputValidator {
+    // Fields that have a rule, in the order their errors are reported
+    private static final Map<String, Function<ResumeData, String>> VALIDATED_FIELDS = new LinkedHashMap<>();
+
+    static {
+        for (String key : List.of("personal.1", "personal.3", "personal.6", "personal.7", "contact.0", "contact.1",
+                "education.collegeYear", "education.shsYear", "education.jhsYear")) {
+            VALIDATED_FIELDS.put(key, ResumeFields.accessor(key));
+        }
+    }
 
     // Validate all relevant fields and return a list of error messages
-    public static List<String> validateResumeData(com.resumebuilder.model.ResumeData data) {
+    public static List<String> validateResumeData(ResumeData data) {
         List<String> errors = new ArrayList<>();
+        for (Map.Entry<String, Function<ResumeData, String>> field : VALIDATED_FIELDS.entrySet()) {
+            String error = validateField(field.getKey(), field.getValue().apply(data));
+            if (error != null) {
+                errors.add(error);
+            }
+        }
+        return errors;
+    }
 
-        // Validate Personal Information
-        List<String> personalFields = data.getPersonalInformation().getFields();
-        validateAge(personalFields.get(1), errors);
-        validateDateOfBirth(personalFields.get(3), errors);
-        validateHeight(personalFields.get(6), errors);
-        validateWeight(personalFields.get(7), errors);
-
-        // Validate Contact Information
-        List<String> contactFields = data.getContactInformation().getFields();
-        validateContactNumber(contactFields.get(0), errors);
-        validateEmail(contactFields.get(1), errors);
+    public static Set<String> getValidatedFields() {
+        return Collections.unmodifiableSet(VALIDATED_FIELDS.keySet());
+    }
 
-        // Validate Education
-        com.resumebuilder.model.Education education = data.getEducation();
-        validateAcademicYear(education.getCollegeYear(), "College Academic Year", errors);
-        validateAcademicYear(education.getShsYear(), "Senior High School Academic Year", errors);
-        validateAcademicYear(education.getJhsYear(), "Junior High School Academic Year", errors);
+    public static boolean isValidated(String key) {
+        return VALIDATED_FIELDS.containsKey(key);
+    }
 
-        return errors;
+    // Checks one field by its ResumeFields key; returns the error message, or null when valid or unchecked
+    public static String validateField(String key, String value) {
+        List<String> errors = new ArrayList<>(1);
+        switch (key) {
+            // Personal Information
+            case "personal.1": validateAge(value, errors); break;
+            case "personal.3": validateDateOfBirth(value, errors); break;
+            case "personal.6": validateHeight(value, errors); break;
+            case "personal.7": validateWeight(value, errors); break;
+            // Contact Information
+            case "contact.0": validateContactNumber(value, errors); break;
+            case "contact.1": validateEmail(value, errors); break;
+            // Education
+            case "education.collegeYear": validateAcademicYear(value, "College Academic Year", errors); break;
+            case "education.shsYear": validateAcademicYear(value, "Senior High School Academic Year", errors); break;
+            case "education.jhsYear": validateAcademicYear(value, "Junior High School Academic Year", errors); break;
+            default: break;
+        }
+        return errors.isEmpty() ? null : errors.get(0);
     }
 
     private static void validateAge(String age, List<String> errors) {
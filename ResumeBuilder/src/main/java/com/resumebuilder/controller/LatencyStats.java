@@ -0,0 +1,38 @@
+package com.resumebuilder.controller;
+
+import java.util.Arrays;
+
+// Thread-safe collector of per-operation latencies in nanoseconds
+public class LatencyStats {
+    private long[] samples = new long[1024];
+    private int count;
+
+    public synchronized void record(long nanos) {
+        if (count == samples.length) {
+            samples = Arrays.copyOf(samples, samples.length * 2);
+        }
+        samples[count++] = nanos;
+    }
+
+    public synchronized int getCount() {
+        return count;
+    }
+
+    // Nearest-rank percentile in milliseconds, e.g. percentileMillis(99)
+    public synchronized double percentileMillis(double percentile) {
+        if (count == 0) return 0;
+        long[] sorted = Arrays.copyOf(samples, count);
+        Arrays.sort(sorted);
+        int rank = (int) Math.ceil(percentile / 100.0 * count);
+        return sorted[Math.max(0, Math.min(count - 1, rank - 1))] / 1_000_000.0;
+    }
+
+    public synchronized double meanMillis() {
+        if (count == 0) return 0;
+        double total = 0;
+        for (int i = 0; i < count; i++) {
+            total += samples[i];
+        }
+        return total / count / 1_000_000.0;
+    }
+}
@@ -0,0 +1,118 @@
+package com.resumebuilder.controller;
+
+import org.apache.pdfbox.pdmodel.font.PDFont;
+import org.apache.pdfbox.pdmodel.font.Standard14Fonts;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class LineBreaker {
+    private static final Map<String, LineBreaker> STANDARD_BREAKERS = new ConcurrentHashMap<>();
+
+    private final TextPreparer preparer;
+    private final float fontSize;
+
+    public LineBreaker(TextPreparer preparer, float fontSize) {
+        this.preparer = preparer;
+        this.fontSize = fontSize;
+    }
+
+    // Breakers are immutable once built, so one per font and size is shared by every template
+    public static LineBreaker forStandardFont(Standard14Fonts.FontName fontName, float fontSize) throws IOException {
+        String key = fontName.getName() + "@" + fontSize;
+        LineBreaker breaker = STANDARD_BREAKERS.get(key);
+        if (breaker == null) {
+            breaker = new LineBreaker(TextPreparer.forStandardFont(fontName), fontSize);
+            LineBreaker existing = STANDARD_BREAKERS.putIfAbsent(key, breaker);
+            if (existing != null) {
+                breaker = existing;
+            }
+        }
+        return breaker;
+    }
+
+    public PDFont getFont() {
+        return preparer.getFont();
+    }
+
+    public float getFontSize() {
+        return fontSize;
+    }
+
+    public PreparedText prepare(String text) {
+        return preparer.prepare(text, fontSize);
+    }
+
+    public int[] breakLines(String text, float maxWidth) {
+        return breakLines(prepare(text), maxWidth);
+    }
+
+    // Returns line boundaries as [start0, end0, start1, end1, ...] offsets into text.
+    // Whitespace at a break is dropped and words wider than maxWidth are split.
+    public int[] breakLines(PreparedText text, float maxWidth) {
+        int length = text.length();
+        if (length == 0) {
+            return new int[] {0, 0};
+        }
+
+        int[] bounds = new int[8];
+        int count = 0;
+        int start = 0;
+
+        while (start < length) {
+            int fit = lastFitting(text, start, length, maxWidth);
+            int end;
+            if (fit == length || isWhitespace(text.charAt(fit))) {
+                end = fit;
+            } else {
+                // Back off to the last whitespace inside the line, else split the token
+                int space = fit;
+                while (space > start && !isWhitespace(text.charAt(space - 1))) {
+                    space--;
+                }
+                end = space > start ? space : Math.max(fit, start + 1);
+            }
+
+            int trimmedEnd = end;
+            while (trimmedEnd > start && isWhitespace(text.charAt(trimmedEnd - 1))) {
+                trimmedEnd--;
+            }
+            if (count + 2 > bounds.length) {
+                bounds = Arrays.copyOf(bounds, bounds.length * 2);
+            }
+            bounds[count++] = start;
+            bounds[count++] = trimmedEnd;
+            start = skipWhitespace(text, end, length);
+        }
+        return Arrays.copyOf(bounds, count);
+    }
+
+    // Largest end in (start, length] whose run still fits, found by binary search over the prefix sums
+    private int lastFitting(PreparedText text, int start, int length, float maxWidth) {
+        float limit = text.prefixAt(start) + maxWidth;
+        int low = start;
+        int high = length;
+        while (low < high) {
+            int mid = (low + high + 1) >>> 1;
+            if (text.prefixAt(mid) <= limit) {
+                low = mid;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return low;
+    }
+
+    private static int skipWhitespace(PreparedText text, int from, int length) {
+        while (from < length && isWhitespace(text.charAt(from))) {
+            from++;
+        }
+        return from;
+    }
+
+    private static boolean isWhitespace(char c) {
+        // Prepared text has already turned tabs and other control characters into spaces
+        return c == ' ';
+    }
+}
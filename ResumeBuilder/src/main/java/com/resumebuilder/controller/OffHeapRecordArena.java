@@ -0,0 +1,399 @@
+package com.resumebuilder.controller;
+
+import com.resumebuilder.model.ContactInformation;
+import com.resumebuilder.model.Education;
+import com.resumebuilder.model.Objective;
+import com.resumebuilder.model.PersonalInformation;
+import com.resumebuilder.model.ResumeData;
+import com.resumebuilder.model.Skills;
+import com.resumebuilder.model.WorkExperience;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// Stores batch records off-heap as length-prefixed UTF-8 fields in direct ByteBuffer chunks, keeping
+// only one long offset per record on the heap. view() returns a read-only ResumeData that decodes each section
+// the first time it is asked for, so a render builds no more than the sections its template reads.
+public class OffHeapRecordArena {
+    private static final int CHUNK_SIZE = 64 * 1024 * 1024;
+
+    private static final int FIELD_ID = 0;
+    private static final int FIELD_PERSONAL = 1;
+    private static final int PERSONAL_COUNT = 10;
+    private static final int FIELD_CONTACT = FIELD_PERSONAL + PERSONAL_COUNT;
+    private static final int CONTACT_COUNT = 3;
+    private static final int FIELD_OBJECTIVE = FIELD_CONTACT + CONTACT_COUNT;
+    private static final int FIELD_WORK_EXPERIENCE = FIELD_OBJECTIVE + 1;
+    private static final int FIELD_SKILLS = FIELD_WORK_EXPERIENCE + 1;
+    private static final int FIELD_EDUCATION = FIELD_SKILLS + 1;
+    private static final int FIELD_PHOTO = FIELD_EDUCATION + 8;
+
+    private final List<ByteBuffer> chunks = new ArrayList<>();
+    private long[] offsets = new long[1024];
+    private int size;
+    private long used;
+
+    // Appends a record and returns its index; records can't be changed once added
+    public int add(String id, ResumeData data) {
+        return add(id, data, null);
+    }
+
+    public synchronized int add(String id, ResumeData data, String photo) {
+        List<String> fields = new ArrayList<>(FIELD_PHOTO + 1);
+        fields.add(id);
+        for (int i = 0; i < PERSONAL_COUNT; i++) {
+            fields.add(data.getPersonalInformation().getFields().get(i));
+        }
+        for (int i = 0; i < CONTACT_COUNT; i++) {
+            fields.add(data.getContactInformation().getFields().get(i));
+        }
+        fields.add(data.getObjective().getText());
+        fields.add(data.getWorkExperience().getText());
+        fields.add(data.getSkills().getText());
+        Education education = data.getEducation();
+        fields.addAll(Arrays.asList(education.getCollegeName(), education.getProgram(), education.getCollegeYear(),
+                education.getShsName(), education.getStrand(), education.getShsYear(), education.getJhsName(), education.getJhsYear()));
+        fields.add(photo);
+
+        byte[][] encoded = new byte[fields.size()][];
+        int recordLength = 0;
+        for (int i = 0; i < encoded.length; i++) {
+            String field = fields.get(i);
+            encoded[i] = (field == null ? "" : field).getBytes(StandardCharsets.UTF_8);
+            recordLength += Integer.BYTES + encoded[i].length;
+        }
+        if (recordLength > CHUNK_SIZE) {
+            throw new IllegalArgumentException("Record " + id + " is larger than an arena chunk");
+        }
+
+        // Records never straddle chunks, so a record is addressed by (chunk, position) packed in a long
+        int chunkIndex = (int) (used / CHUNK_SIZE);
+        int position = (int) (used % CHUNK_SIZE);
+        if (chunkIndex >= chunks.size() || position + recordLength > CHUNK_SIZE) {
+            if (chunkIndex < chunks.size()) {
+                chunkIndex++;
+            }
+            chunks.add(ByteBuffer.allocateDirect(CHUNK_SIZE));
+            position = 0;
+        }
+        ByteBuffer chunk = chunks.get(chunkIndex);
+        int cursor = position;
+        for (byte[] field : encoded) {
+            chunk.putInt(cursor, field.length);
+            chunk.put(cursor + Integer.BYTES, field);
+            cursor += Integer.BYTES + field.length;
+        }
+
+        if (size == offsets.length) {
+            offsets = Arrays.copyOf(offsets, size * 2);
+        }
+        offsets[size] = (long) chunkIndex * CHUNK_SIZE + position;
+        used = (long) chunkIndex * CHUNK_SIZE + cursor;
+        return size++;
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    public synchronized long getOffHeapBytes() {
+        return (long) chunks.size() * CHUNK_SIZE;
+    }
+
+    public String getId(int record) {
+        return readField(record, FIELD_ID);
+    }
+
+    // The record's photo path, or null
+    public String getPhoto(int record) {
+        String photo = readField(record, FIELD_PHOTO);
+        return photo.isEmpty() ? null : photo;
+    }
+
+    public ResumeData view(int record) {
+        return new ResumeView(this, record);
+    }
+
+    // Absolute reads only, so any number of threads can read while nothing else moves buffer positions
+    String readField(int record, int field) {
+        long offset;
+        ByteBuffer chunk;
+        synchronized (this) {
+            if (record < 0 || record >= size) {
+                throw new IndexOutOfBoundsException("Record " + record + " of " + size);
+            }
+            offset = offsets[record];
+            chunk = chunks.get((int) (offset / CHUNK_SIZE));
+        }
+        int cursor = (int) (offset % CHUNK_SIZE);
+        for (int i = 0; i < field; i++) {
+            cursor += Integer.BYTES + chunk.getInt(cursor);
+        }
+        byte[] bytes = new byte[chunk.getInt(cursor)];
+        chunk.get(cursor + Integer.BYTES, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    // Each section is decoded on first use and kept for the life of the view, which lasts one render; the
+    // setters throw, so nothing can be written into a copy that is about to be thrown away
+    private static class ResumeView extends ResumeData {
+        private final OffHeapRecordArena arena;
+        private final int record;
+        private PersonalInformation personalInformation;
+        private ContactInformation contactInformation;
+        private Objective objective;
+        private WorkExperience workExperience;
+        private Skills skills;
+        private Education education;
+
+        ResumeView(OffHeapRecordArena arena, int record) {
+            // No default sections: every getter is overridden
+            super(null, null, null, null, null, null);
+            this.arena = arena;
+            this.record = record;
+        }
+
+        @Override
+        public PersonalInformation getPersonalInformation() {
+            if (personalInformation == null) {
+                personalInformation = new PersonalInformation(new FieldList(arena, record, FIELD_PERSONAL, PERSONAL_COUNT)) {
+                    @Override
+                    public void setFields(List<String> fields) {
+                        throw readOnly();
+                    }
+                };
+            }
+            return personalInformation;
+        }
+
+        @Override
+        public ContactInformation getContactInformation() {
+            if (contactInformation == null) {
+                contactInformation = new ContactInformation(new FieldList(arena, record, FIELD_CONTACT, CONTACT_COUNT)) {
+                    @Override
+                    public void setFields(List<String> fields) {
+                        throw readOnly();
+                    }
+                };
+            }
+            return contactInformation;
+        }
+
+        @Override
+        public Objective getObjective() {
+            if (objective == null) {
+                objective = new Objective(arena.readField(record, FIELD_OBJECTIVE)) {
+                    @Override
+                    public void setText(String text) {
+                        throw readOnly();
+                    }
+                };
+            }
+            return objective;
+        }
+
+        @Override
+        public WorkExperience getWorkExperience() {
+            if (workExperience == null) {
+                workExperience = new WorkExperience(entries(FIELD_WORK_EXPERIENCE)) {
+                    @Override
+                    public void setEntries(List<String> entries) {
+                        throw readOnly();
+                    }
+
+                    @Override
+                    public void setText(String text) {
+                        throw readOnly();
+                    }
+                };
+            }
+            return workExperience;
+        }
+
+        @Override
+        public Skills getSkills() {
+            if (skills == null) {
+                skills = new Skills(entries(FIELD_SKILLS)) {
+                    @Override
+                    public void setEntries(List<String> entries) {
+                        throw readOnly();
+                    }
+
+                    @Override
+                    public void setText(String text) {
+                        throw readOnly();
+                    }
+                };
+            }
+            return skills;
+        }
+
+        @Override
+        public Education getEducation() {
+            if (education == null) {
+                education = new EducationView(arena, record);
+            }
+            return education;
+        }
+
+        @Override
+        public void setPersonalInformation(PersonalInformation personalInformation) {
+            throw readOnly();
+        }
+
+        @Override
+        public void setContactInformation(ContactInformation contactInformation) {
+            throw readOnly();
+        }
+
+        @Override
+        public void setObjective(Objective objective) {
+            throw readOnly();
+        }
+
+        @Override
+        public void setWorkExperience(WorkExperience workExperience) {
+            throw readOnly();
+        }
+
+        @Override
+        public void setSkills(Skills skills) {
+            throw readOnly();
+        }
+
+        @Override
+        public void setEducation(Education education) {
+            throw readOnly();
+        }
+
+        // One entry per line, as WorkExperience.setText and Skills.setText split them
+        private List<String> entries(int field) {
+            String text = arena.readField(record, field);
+            return text.isEmpty() ? List.of() : List.of(text.split("\n", -1));
+        }
+    }
+
+    private static class EducationView extends Education {
+        private final String[] values = new String[8];
+
+        EducationView(OffHeapRecordArena arena, int record) {
+            for (int i = 0; i < values.length; i++) {
+                values[i] = arena.readField(record, FIELD_EDUCATION + i);
+            }
+        }
+
+        @Override
+        public String getCollegeName() {
+            return values[0];
+        }
+
+        @Override
+        public String getProgram() {
+            return values[1];
+        }
+
+        @Override
+        public String getCollegeYear() {
+            return values[2];
+        }
+
+        @Override
+        public String getShsName() {
+            return values[3];
+        }
+
+        @Override
+        public String getStrand() {
+            return values[4];
+        }
+
+        @Override
+        public String getShsYear() {
+            return values[5];
+        }
+
+        @Override
+        public String getJhsName() {
+            return values[6];
+        }
+
+        @Override
+        public String getJhsYear() {
+            return values[7];
+        }
+
+        @Override
+        public void setCollegeName(String collegeName) {
+            throw readOnly();
+        }
+
+        @Override
+        public void setProgram(String program) {
+            throw readOnly();
+        }
+
+        @Override
+        public void setCollegeYear(String collegeYear) {
+            throw readOnly();
+        }
+
+        @Override
+        public void setShsName(String shsName) {
+            throw readOnly();
+        }
+
+        @Override
+        public void setStrand(String strand) {
+            throw readOnly();
+        }
+
+        @Override
+        public void setShsYear(String shsYear) {
+            throw readOnly();
+        }
+
+        @Override
+        public void setJhsName(String jhsName) {
+            throw readOnly();
+        }
+
+        @Override
+        public void setJhsYear(String jhsYear) {
+            throw readOnly();
+        }
+    }
+
+    private static UnsupportedOperationException readOnly() {
+        return new UnsupportedOperationException("Arena records are read-only");
+    }
+
+    private static class FieldList extends AbstractList<String> {
+        private final OffHeapRecordArena arena;
+        private final int record;
+        private final int firstField;
+        private final int count;
+
+        FieldList(OffHeapRecordArena arena, int record, int firstField, int count) {
+            this.arena = arena;
+            this.record = record;
+            this.firstField = firstField;
+            this.count = count;
+        }
+
+        @Override
+        public String get(int index) {
+            if (index < 0 || index >= count) {
+                throw new IndexOutOfBoundsException("Field " + index + " of " + count);
+            }
+            return arena.readField(record, firstField + index);
+        }
+
+        @Override
+        public int size() {
+            return count;
+        }
+    }
+}
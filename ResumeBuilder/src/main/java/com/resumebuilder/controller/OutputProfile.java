@@ -0,0 +1,48 @@
+package com.resumebuilder.controller;
+
+import org.apache.pdfbox.pdfwriter.compress.CompressParameters;
+import java.util.zip.Deflater;
+
+public enum OutputProfile {
+    // Previews and temp files: content deflated at the fastest level, classic xref table, no object streams
+    FAST(Deflater.BEST_SPEED, CompressParameters.NO_COMPRESSION, 1.4f),
+    // PDFBox defaults, as plain PDDocument.save() writes them: its own deflate level plus object streams
+    DEFAULT(OutputProfile.PDFBOX_DEFLATE_LEVEL, CompressParameters.DEFAULT_COMPRESSION, 1.4f),
+    // Archival: content deflated at the highest level, PDF 1.5 cross-reference and object streams
+    COMPACT(Deflater.BEST_COMPRESSION, CompressParameters.DEFAULT_COMPRESSION, 1.5f);
+
+    // Leaves content compression to PDFBox, whose level is the JVM-wide org.apache.pdfbox.filter.deflatelevel
+    public static final int PDFBOX_DEFLATE_LEVEL = -2;
+
+    private final int deflateLevel;
+    private final CompressParameters compressParameters;
+    private final float pdfVersion;
+
+    OutputProfile(int deflateLevel, CompressParameters compressParameters, float pdfVersion) {
+        this.deflateLevel = deflateLevel;
+        this.compressParameters = compressParameters;
+        this.pdfVersion = pdfVersion;
+    }
+
+    // A java.util.zip.Deflater level applied by PdfGenerator, or PDFBOX_DEFLATE_LEVEL
+    public int getDeflateLevel() {
+        return deflateLevel;
+    }
+
+    public CompressParameters getCompressParameters() {
+        return compressParameters;
+    }
+
+    public float getPdfVersion() {
+        return pdfVersion;
+    }
+
+    public static OutputProfile fromName(String name) {
+        for (OutputProfile profile : values()) {
+            if (profile.name().equalsIgnoreCase(name)) {
+                return profile;
+            }
+        }
+        throw new IllegalArgumentException("Unknown output profile: " + name);
+    }
+}
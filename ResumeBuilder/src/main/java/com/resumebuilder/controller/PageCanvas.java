@@ -0,0 +1,20 @@
+package com.resumebuilder.controller;
+
+import org.apache.pdfbox.pdmodel.font.Standard14Fonts;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+
+// The drawing operations templates use, in PDF page coordinates: points, origin at the bottom-left.
+// PdfPageCanvas writes them to a content stream for export; Graphics2DPageCanvas paints them for preview.
+public interface PageCanvas {
+    void setFont(Standard14Fonts.FontName fontName, float fontSize) throws IOException;
+
+    // Text must already be in the font's encoding, i.e. passed through TextPreparer; (x, y) is the baseline start
+    void showText(float x, float y, String text) throws IOException;
+
+    void setLineWidth(float lineWidth) throws IOException;
+
+    void drawLine(float x1, float y1, float x2, float y2) throws IOException;
+
+    void drawImage(BufferedImage image, float x, float y, float width, float height) throws IOException;
+}
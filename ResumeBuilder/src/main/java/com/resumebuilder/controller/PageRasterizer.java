@@ -0,0 +1,19 @@
+package com.resumebuilder.controller;
+
+import org.apache.pdfbox.Loader;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.rendering.ImageType;
+import org.apache.pdfbox.rendering.PDFRenderer;
+import java.awt.image.BufferedImage;
+
+// Rasterizes single pages of a serialized PDF, e.g. template thumbnails. Each call loads its own
+// PDDocument, since PDFRenderer is not thread-safe, so callers on different threads never share one.
+public class PageRasterizer {
+    public static final float THUMBNAIL_DPI = 36;
+
+    public BufferedImage renderPage(byte[] pdf, int page, float dpi) throws Exception {
+        try (PDDocument document = Loader.loadPDF(pdf)) {
+            return new PDFRenderer(document).renderImageWithDPI(page, dpi, ImageType.RGB);
+        }
+    }
+}
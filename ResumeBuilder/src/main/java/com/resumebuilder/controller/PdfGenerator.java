@@ -2,16 +2,45 @@ package com.resumebuilder.controller;
 
 import com.resumebuilder.model.ResumeData;
 import com.resumebuilder.view.ResumeFrame;
+import org.apache.pdfbox.cos.COSArray;
+import org.apache.pdfbox.cos.COSName;
+import org.apache.pdfbox.cos.COSStream;
+import org.apache.pdfbox.cos.COSString;
 import org.apache.pdfbox.pdmodel.PDDocument;
 import org.apache.pdfbox.pdmodel.PDPage;
 import org.apache.pdfbox.pdmodel.PDPageContentStream;
 import org.apache.pdfbox.pdmodel.common.PDRectangle;
-import javax.imageio.ImageIO;
+import org.apache.pdfbox.pdmodel.common.PDStream;
 import javax.swing.*;
 import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
 
 public class PdfGenerator {
+    private static final List<String> TEMPLATE_NAMES = List.of("Default", "Two-Column");
+
+    // Decoded profile pictures, capped at their placed size; a few photos' worth
+    private static final long PROFILE_IMAGE_CACHE_BYTES = 16L * 1024 * 1024;
+
+    private final ProfileImageLoader profileImages = new ProfileImageLoader(PROFILE_IMAGE_CACHE_BYTES);
+    private final DeclarativeTemplateLoader declarativeTemplates = new DeclarativeTemplateLoader(DeclarativeTemplateLoader.defaultDirectory(), TEMPLATE_NAMES);
+
+    // The templates that ship with the app, known without scanning the custom template folder
+    public static List<String> getBuiltInTemplateNames() {
+        return TEMPLATE_NAMES;
+    }
 
     public void generatePDF(ResumeFrame view, ResumeData data, String templateName) {
         JFileChooser fileChooser = new JFileChooser();
@@ -42,26 +71,106 @@ public class PdfGenerator {
     }
 
     private void generatePDFToFile(ResumeFrame view, ResumeData data, ResumeTemplate template, File file, BufferedImage image) throws Exception {
-        try (PDDocument document = new PDDocument()) {
+        try (PDDocument document = buildDocument(data, template, image, OutputProfile.DEFAULT)) {
+            document.save(file, OutputProfile.DEFAULT.getCompressParameters());
+        }
+    }
+
+    public byte[] generatePDFBytes(ResumeData data, String templateName, BufferedImage image) throws Exception {
+        return render(data, templateName, image, OutputProfile.DEFAULT).getBytes();
+    }
+
+    // Renders in memory with the given profile and reports output size plus layout and encode time
+    public RenderResult render(ResumeData data, String templateName, BufferedImage image, OutputProfile profile) throws Exception {
+        ResumeTemplate template = createTemplate(templateName);
+        long start = System.nanoTime();
+        try (PDDocument document = buildDocument(data, template, image, profile)) {
+            long laidOut = System.nanoTime();
+            ByteArrayOutputStream output = new ByteArrayOutputStream();
+            document.save(output, profile.getCompressParameters());
+            long encoded = System.nanoTime();
+            return new RenderResult(output.toByteArray(), laidOut - start, encoded - laidOut);
+        }
+    }
+
+    // Compresses the page content at the profile's own level, since PDFBox's level is one setting for the whole JVM
+    private static void deflateContent(PDPage page, int level) throws IOException {
+        Iterator<PDStream> streams = page.getContentStreams();
+        while (streams.hasNext()) {
+            PDStream stream = streams.next();
+            byte[] content;
+            try (InputStream in = stream.createInputStream()) {
+                content = in.readAllBytes();
+            }
+            COSStream cosStream = stream.getCOSObject();
+            Deflater deflater = new Deflater(level);
+            try (OutputStream out = new DeflaterOutputStream(cosStream.createRawOutputStream(), deflater)) {
+                out.write(content);
+            } finally {
+                deflater.end();
+            }
+            cosStream.setItem(COSName.FILTER, COSName.FLATE_DECODE);
+        }
+    }
+
+    private PDDocument buildDocument(ResumeData data, ResumeTemplate template, BufferedImage image, OutputProfile profile) throws Exception {
+        PDDocument document = new PDDocument();
+        try {
+            document.setVersion(profile.getPdfVersion());
             PDPage page = new PDPage(PDRectangle.A4);
             document.addPage(page);
 
-            try (PDPageContentStream contentStream = new PDPageContentStream(document, page)) {
+            boolean pdfboxDeflate = profile.getDeflateLevel() == OutputProfile.PDFBOX_DEFLATE_LEVEL;
+            try (PDPageContentStream contentStream = new PDPageContentStream(document, page, PDPageContentStream.AppendMode.OVERWRITE, pdfboxDeflate)) {
                 template.generate(contentStream, data, document, image);
             }
-
-            document.save(file);
+            if (!pdfboxDeflate) {
+                deflateContent(page, profile.getDeflateLevel());
+            }
+            // PDFBox seeds the trailer /ID from the clock when none is set; deriving it from the input
+            // instead makes identical input render to identical bytes on any thread
+            document.getDocument().setDocumentID(documentId(data, template, profile));
+            return document;
+        } catch (Exception ex) {
+            document.close();
+            throw ex;
         }
     }
 
-    private ResumeTemplate createTemplate(String templateName) {
+    private static COSArray documentId(ResumeData data, ResumeTemplate template, OutputProfile profile) {
+        MessageDigest digest = ResumeDataHasher.newDigest();
+        digest.update(ResumeDataHasher.digest(data));
+        digest.update((template.getName() + "\u0000" + template.getVersion() + "\u0000" + profile.name()).getBytes(StandardCharsets.UTF_8));
+        byte[] id = Arrays.copyOf(digest.digest(), 16);
+        COSArray array = new COSArray();
+        array.add(new COSString(id));
+        array.add(new COSString(id));
+        return array;
+    }
+
+    // The built-in templates followed by those loaded from the templates directory
+    public List<String> getTemplateNames() {
+        List<String> names = new ArrayList<>(TEMPLATE_NAMES);
+        names.addAll(declarativeTemplates.getNames());
+        return names;
+    }
+
+    public ResumeTemplate createTemplate(String templateName) {
         if ("Default".equalsIgnoreCase(templateName)) {
             return new DefaultTemplate();
         } else if ("Two-Column".equalsIgnoreCase(templateName)) {
             return new TwoColumnTemplate();
-        } else {
+        }
+        ResumeTemplate declarative = declarativeTemplates.find(templateName);
+        if (declarative == null) {
             throw new IllegalArgumentException("Unknown template: " + templateName);
         }
+        return declarative;
+    }
+
+    // Decodes a profile picture at the size templates place it, from cache when the file hasn't changed
+    public BufferedImage loadProfileImage(Path file) throws IOException {
+        return profileImages.load(file);
     }
 
     private BufferedImage promptForImage(ResumeFrame view) {
@@ -72,7 +181,7 @@ public class PdfGenerator {
             int result = fileChooser.showOpenDialog(view);
             if (result == JFileChooser.APPROVE_OPTION) {
                 try {
-                    return ImageIO.read(fileChooser.getSelectedFile());
+                    return loadProfileImage(fileChooser.getSelectedFile().toPath());
                 } catch (Exception ex) {
                     JOptionPane.showMessageDialog(view, "Error loading image: " + ex.getMessage());
                     return null;
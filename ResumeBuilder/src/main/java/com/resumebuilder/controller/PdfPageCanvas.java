@@ -0,0 +1,54 @@
+package com.resumebuilder.controller;
+
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+import org.apache.pdfbox.pdmodel.font.Standard14Fonts;
+import org.apache.pdfbox.pdmodel.graphics.image.LosslessFactory;
+import org.apache.pdfbox.pdmodel.graphics.image.PDImageXObject;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.Map;
+
+public class PdfPageCanvas implements PageCanvas {
+    private final PDDocument document;
+    private final PDPageContentStream contentStream;
+    private final Map<Standard14Fonts.FontName, PDType1Font> fonts = new EnumMap<>(Standard14Fonts.FontName.class);
+
+    public PdfPageCanvas(PDDocument document, PDPageContentStream contentStream) {
+        this.document = document;
+        this.contentStream = contentStream;
+    }
+
+    @Override
+    public void setFont(Standard14Fonts.FontName fontName, float fontSize) throws IOException {
+        contentStream.setFont(fonts.computeIfAbsent(fontName, PDType1Font::new), fontSize);
+    }
+
+    @Override
+    public void showText(float x, float y, String text) throws IOException {
+        contentStream.beginText();
+        contentStream.newLineAtOffset(x, y);
+        contentStream.showText(text);
+        contentStream.endText();
+    }
+
+    @Override
+    public void setLineWidth(float lineWidth) throws IOException {
+        contentStream.setLineWidth(lineWidth);
+    }
+
+    @Override
+    public void drawLine(float x1, float y1, float x2, float y2) throws IOException {
+        contentStream.moveTo(x1, y1);
+        contentStream.lineTo(x2, y2);
+        contentStream.stroke();
+    }
+
+    @Override
+    public void drawImage(BufferedImage image, float x, float y, float width, float height) throws IOException {
+        PDImageXObject pdImage = LosslessFactory.createFromImage(document, image);
+        contentStream.drawImage(pdImage, x, y, width, height);
+    }
+}
@@ -0,0 +1,255 @@
+package com.resumebuilder.controller;
+
+import org.apache.pdfbox.Loader;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.interactive.digitalsignature.PDSignature;
+import org.apache.pdfbox.pdmodel.interactive.digitalsignature.SignatureInterface;
+import org.apache.pdfbox.pdmodel.interactive.digitalsignature.SignatureOptions;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.GeneralSecurityException;
+import java.security.Key;
+import java.security.KeyStore;
+import java.security.MessageDigest;
+import java.security.PrivateKey;
+import java.security.Signature;
+import java.security.cert.Certificate;
+import java.security.cert.X509Certificate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.Enumeration;
+import java.util.List;
+
+// Signs rendered PDFs with a key from a PKCS#12 keystore. The keystore is read once; the key, the certificate
+// chain and everything in the CMS container that doesn't depend on the document are encoded up front, and each
+// thread keeps its own initialized Signature and MessageDigest, so signing a PDF costs one hash and one
+// private-key operation. The signature is added as an incremental update after the rendered bytes.
+//
+// The detached CMS SignedData (adbe.pkcs7.detached) is DER-encoded here with the JDK's own crypto, since the
+// usual CMS library isn't on the classpath; RSA and EC keys are supported, with SHA-256.
+public class PdfSigner implements SignatureInterface {
+    private static final byte[] OID_SIGNED_DATA = oid("1.2.840.113549.1.7.2");
+    private static final byte[] OID_DATA = oid("1.2.840.113549.1.7.1");
+    private static final byte[] OID_SHA256 = oid("2.16.840.1.101.3.4.2.1");
+    private static final byte[] OID_RSA_ENCRYPTION = oid("1.2.840.113549.1.1.1");
+    private static final byte[] OID_ECDSA_WITH_SHA256 = oid("1.2.840.10045.4.3.2");
+    private static final byte[] OID_CONTENT_TYPE = oid("1.2.840.113549.1.9.3");
+    private static final byte[] OID_MESSAGE_DIGEST = oid("1.2.840.113549.1.9.4");
+    private static final byte[] DER_NULL = {0x05, 0x00};
+
+    private final X509Certificate certificate;
+    private final String signatureAlgorithm;
+    private final String signerName;
+    // Encoded once: AlgorithmIdentifiers, the certificate set and the signer's issuer and serial number
+    private final byte[] digestAlgorithm;
+    private final byte[] signerSignatureAlgorithm;
+    private final byte[] certificateSet;
+    private final byte[] issuerAndSerial;
+    private final ThreadLocal<Signature> signatures;
+    private final ThreadLocal<MessageDigest> digests = ThreadLocal.withInitial(ResumeDataHasher::newDigest);
+    // Taken once, so every PDF this signer signs in a run carries the same signing time
+    private final Calendar signTime = Calendar.getInstance();
+
+    public PdfSigner(PrivateKey privateKey, Certificate[] chain) throws GeneralSecurityException {
+        if (chain == null || chain.length == 0 || !(chain[0] instanceof X509Certificate)) {
+            throw new IllegalArgumentException("The signing key needs an X.509 certificate chain");
+        }
+        this.certificate = (X509Certificate) chain[0];
+        switch (privateKey.getAlgorithm()) {
+            case "RSA":
+                signatureAlgorithm = "SHA256withRSA";
+                signerSignatureAlgorithm = sequence(OID_RSA_ENCRYPTION, DER_NULL);
+                break;
+            case "EC":
+                signatureAlgorithm = "SHA256withECDSA";
+                signerSignatureAlgorithm = sequence(OID_ECDSA_WITH_SHA256);
+                break;
+            default:
+                throw new IllegalArgumentException("Unsupported signing key algorithm: " + privateKey.getAlgorithm());
+        }
+        this.signerName = certificate.getSubjectX500Principal().getName();
+        this.digestAlgorithm = sequence(OID_SHA256);
+        List<byte[]> certificates = new ArrayList<>();
+        for (Certificate cert : chain) {
+            certificates.add(cert.getEncoded());
+        }
+        this.certificateSet = tagged(0xA0, certificates.toArray(new byte[0][]));
+        this.issuerAndSerial = sequence(certificate.getIssuerX500Principal().getEncoded(),
+                tlv(0x02, certificate.getSerialNumber().toByteArray()));
+        // Fails here rather than on the first document if the key can't sign
+        Signature probe = Signature.getInstance(signatureAlgorithm);
+        probe.initSign(privateKey);
+        this.signatures = ThreadLocal.withInitial(() -> {
+            try {
+                Signature signature = Signature.getInstance(signatureAlgorithm);
+                signature.initSign(privateKey);
+                return signature;
+            } catch (GeneralSecurityException ex) {
+                throw new IllegalStateException(ex);
+            }
+        });
+    }
+
+    // Loads the key entry with the alias, or the only key entry when alias is null
+    public static PdfSigner load(Path keystore, char[] password, String alias) throws IOException, GeneralSecurityException {
+        KeyStore store = KeyStore.getInstance("PKCS12");
+        try (InputStream in = Files.newInputStream(keystore)) {
+            store.load(in, password);
+        }
+        if (alias == null) {
+            Enumeration<String> aliases = store.aliases();
+            while (aliases.hasMoreElements()) {
+                String candidate = aliases.nextElement();
+                if (store.isKeyEntry(candidate)) {
+                    if (alias != null) {
+                        throw new IllegalArgumentException("Keystore has several keys; pick one with --sign-alias");
+                    }
+                    alias = candidate;
+                }
+            }
+            if (alias == null) {
+                throw new IllegalArgumentException("Keystore has no private key: " + keystore);
+            }
+        }
+        Key key = store.getKey(alias, password);
+        if (!(key instanceof PrivateKey)) {
+            throw new IllegalArgumentException("No private key under alias " + alias);
+        }
+        return new PdfSigner((PrivateKey) key, store.getCertificateChain(alias));
+    }
+
+    // Identifies the signing certificate, for the manifest's output variant
+    public String describe() {
+        return "signed:" + certificate.getSerialNumber().toString(16);
+    }
+
+    // Returns the PDF with a signature appended as an incremental update
+    public byte[] sign(byte[] pdf) throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream(pdf.length + certificateSet.length + 8192);
+        try (PDDocument document = Loader.loadPDF(pdf)) {
+            sign(document, output);
+        }
+        return output.toByteArray();
+    }
+
+    public void sign(PDDocument document, OutputStream output) throws IOException {
+        PDSignature signature = new PDSignature();
+        signature.setFilter(PDSignature.FILTER_ADOBE_PPKLITE);
+        signature.setSubFilter(PDSignature.SUBFILTER_ADBE_PKCS7_DETACHED);
+        signature.setName(signerName);
+        // PDSignature keeps the Calendar it is given, so each document gets its own copy
+        signature.setSignDate((Calendar) signTime.clone());
+        // PDFBox derives the incremental update's trailer ID from this, or from the clock when it isn't set
+        document.setDocumentId(signTime.getTimeInMillis());
+        try (SignatureOptions options = new SignatureOptions()) {
+            // Room for the certificates plus the signature and the fixed parts of the container
+            options.setPreferredSignatureSize(certificateSet.length + 4096);
+            document.addSignature(signature, this, options);
+            document.saveIncremental(output);
+        }
+    }
+
+    // Called by PDFBox with the signed byte ranges of the document
+    @Override
+    public byte[] sign(InputStream content) throws IOException {
+        MessageDigest digest = digests.get();
+        byte[] buffer = new byte[16 * 1024];
+        int read;
+        while ((read = content.read(buffer)) != -1) {
+            digest.update(buffer, 0, read);
+        }
+        return signedData(digest.digest());
+    }
+
+    // ContentInfo { signedData, [0] SignedData } with one signer and no encapsulated content
+    byte[] signedData(byte[] contentDigest) throws IOException {
+        byte[][] attributes = {
+                sequence(OID_CONTENT_TYPE, set(OID_DATA)),
+                sequence(OID_MESSAGE_DIGEST, set(tlv(0x04, contentDigest)))
+        };
+        // DER orders SET OF members by their encoding; the signature covers the attributes as a SET
+        Arrays.sort(attributes, Arrays::compareUnsigned);
+        byte[] signatureValue;
+        try {
+            Signature signer = signatures.get();
+            signer.update(tlv(0x31, attributes));
+            signatureValue = signer.sign();
+        } catch (GeneralSecurityException ex) {
+            throw new IOException("Signing failed: " + ex.getMessage(), ex);
+        }
+
+        byte[] signerInfo = sequence(
+                integer(1),
+                issuerAndSerial,
+                digestAlgorithm,
+                tagged(0xA0, attributes),
+                signerSignatureAlgorithm,
+                tlv(0x04, signatureValue));
+        byte[] signedData = sequence(
+                integer(1),
+                set(digestAlgorithm),
+                sequence(OID_DATA),
+                certificateSet,
+                set(signerInfo));
+        return sequence(OID_SIGNED_DATA, tagged(0xA0, signedData));
+    }
+
+    private static byte[] integer(int value) {
+        return tlv(0x02, new byte[] {(byte) value});
+    }
+
+    private static byte[] sequence(byte[]... parts) {
+        return tlv(0x30, parts);
+    }
+
+    private static byte[] set(byte[]... parts) {
+        return tlv(0x31, parts);
+    }
+
+    private static byte[] tagged(int tag, byte[]... parts) {
+        return tlv(tag, parts);
+    }
+
+    private static byte[] tlv(int tag, byte[]... parts) {
+        int length = 0;
+        for (byte[] part : parts) {
+            length += part.length;
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream(length + 6);
+        out.write(tag);
+        if (length < 0x80) {
+            out.write(length);
+        } else {
+            int bytes = length > 0xFFFFFF ? 4 : length > 0xFFFF ? 3 : length > 0xFF ? 2 : 1;
+            out.write(0x80 | bytes);
+            for (int i = bytes - 1; i >= 0; i--) {
+                out.write(length >>> (8 * i));
+            }
+        }
+        for (byte[] part : parts) {
+            out.write(part, 0, part.length);
+        }
+        return out.toByteArray();
+    }
+
+    private static byte[] oid(String dotted) {
+        String[] arcs = dotted.split("\\.");
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        body.write(Integer.parseInt(arcs[0]) * 40 + Integer.parseInt(arcs[1]));
+        for (int i = 2; i < arcs.length; i++) {
+            long arc = Long.parseLong(arcs[i]);
+            int groups = 1;
+            while ((arc >>> (7 * groups)) != 0) groups++;
+            for (int g = groups - 1; g >= 0; g--) {
+                int bits = (int) ((arc >>> (7 * g)) & 0x7F);
+                body.write(g == 0 ? bits : bits | 0x80);
+            }
+        }
+        return tlv(0x06, body.toByteArray());
+    }
+}
@@ -0,0 +1,44 @@
+package com.resumebuilder.controller;
+
+import com.resumebuilder.model.ResumeData;
+import java.util.function.Supplier;
+
+public class PdfWarmup {
+
+    // Loads PDFBox classes, parses the Standard 14 font metrics and JIT-compiles the template
+    // and rendering paths by rendering a throwaway resume, so the first real preview doesn't pay for it
+    public static void run(PdfGenerator pdfGenerator, PageRasterizer pageRasterizer) throws Exception {
+        ResumeData data = sampleData();
+        for (String templateName : pdfGenerator.getTemplateNames()) {
+            byte[] pdf = pdfGenerator.generatePDFBytes(data, templateName, null);
+            pageRasterizer.renderPage(pdf, 0, PageRasterizer.THUMBNAIL_DPI);
+        }
+    }
+
+    // The suppliers are called on the warm-up thread, so whatever they build stays off the caller's thread too
+    public static Thread startInBackground(Supplier<PdfGenerator> pdfGenerator, Supplier<PageRasterizer> pageRasterizer) {
+        Thread thread = new Thread(() -> {
+            try {
+                run(pdfGenerator.get(), pageRasterizer.get());
+            } catch (Exception ex) {
+                System.err.println("PDF warm-up failed: " + ex.getMessage());
+            }
+        }, "pdf-warmup");
+        thread.setDaemon(true);
+        thread.setPriority(Thread.MIN_PRIORITY);
+        thread.start();
+        return thread;
+    }
+
+    static ResumeData sampleData() {
+        ResumeData data = new ResumeData();
+        data.getPersonalInformation().getFields().set(0, "Juan Dela Cruz");
+        data.getPersonalInformation().getFields().set(1, "25");
+        data.getContactInformation().getFields().set(1, "juan@example.com");
+        data.getObjective().setText("To obtain a position where I can apply my skills and grow with the company.");
+        data.getWorkExperience().setText("Software Intern, Example Corp (2023-2024)\nBuilt internal tools and maintained reports.");
+        data.getSkills().setText("Java\nCommunication\nTeamwork");
+        data.getEducation().setCollegeName("Example University");
+        return data;
+    }
+}
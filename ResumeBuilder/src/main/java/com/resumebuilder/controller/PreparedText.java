@@ -0,0 +1,44 @@
+package com.resumebuilder.controller;
+
+// Text that has been normalized for a font together with its prefix widths,
+// so measuring any run is a subtraction and the same string is reused for drawing
+public class PreparedText {
+    static final PreparedText EMPTY = new PreparedText("", new float[1]);
+
+    private final String text;
+    private final float[] prefix;
+
+    PreparedText(String text, float[] prefix) {
+        this.text = text;
+        this.prefix = prefix;
+    }
+
+    public String getText() {
+        return text;
+    }
+
+    public int length() {
+        return text.length();
+    }
+
+    public char charAt(int index) {
+        return text.charAt(index);
+    }
+
+    public float getWidth() {
+        return prefix[text.length()];
+    }
+
+    public float width(int start, int end) {
+        return prefix[end] - prefix[start];
+    }
+
+    // Offset of the prefix sum at index, used for binary searching line breaks
+    float prefixAt(int index) {
+        return prefix[index];
+    }
+
+    public String substring(int start, int end) {
+        return text.substring(start, end);
+    }
+}
@@ -0,0 +1,159 @@
+package com.resumebuilder.controller;
+
+import com.resumebuilder.model.ResumeData;
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+
+// Compares the direct Java2D preview of every template against PDFBox's rasterization of the exported PDF.
+// The PDF stays the source of truth; the preview may differ in glyph shapes and anti-aliasing but not in layout.
+public class PreviewDiffCheck {
+
+    public static class Options {
+        int records = 8;
+        float scale = 2;
+        int channelTolerance = 96;
+        double maxDiffFraction = 0.01;
+        int radius = 1;
+        Path diffDir;
+
+        public static Options parse(String[] args) {
+            Options options = new Options();
+            for (int i = 0; i < args.length; i++) {
+                String arg = args[i];
+                if ("--check-preview".equals(arg)) continue;
+                if (i + 1 >= args.length) {
+                    throw new IllegalArgumentException("Missing value for " + arg);
+                }
+                switch (arg) {
+                    case "--records": options.records = Integer.parseInt(args[++i]); break;
+                    case "--scale": options.scale = Float.parseFloat(args[++i]); break;
+                    case "--tolerance": options.channelTolerance = Integer.parseInt(args[++i]); break;
+                    case "--max-diff": options.maxDiffFraction = Double.parseDouble(args[++i]); break;
+                    case "--radius": options.radius = Integer.parseInt(args[++i]); break;
+                    case "--diff-dir": options.diffDir = Paths.get(args[++i]); break;
+                    default: throw new IllegalArgumentException("Unknown option: " + arg);
+                }
+            }
+            return options;
+        }
+    }
+
+    private final PdfGenerator pdfGenerator;
+    private final Options options;
+
+    public PreviewDiffCheck(PdfGenerator pdfGenerator, Options options) {
+        this.pdfGenerator = pdfGenerator;
+        this.options = options;
+    }
+
+    public static boolean isCheckInvocation(String[] args) {
+        for (String arg : args) {
+            if ("--check-preview".equals(arg)) return true;
+        }
+        return false;
+    }
+
+    public int run() throws Exception {
+        if (options.diffDir != null) {
+            Files.createDirectories(options.diffDir);
+        }
+        List<ResumeData> corpus = ScalabilityBenchmark.syntheticCorpus(options.records);
+        boolean passed = true;
+        double worst = 0;
+        for (String templateName : pdfGenerator.getTemplateNames()) {
+            ResumeTemplate template = pdfGenerator.createTemplate(templateName);
+            for (int i = 0; i < corpus.size(); i++) {
+                ResumeData data = corpus.get(i);
+                BufferedImage expected = rasterizePdf(pdfGenerator.render(data, templateName, null, OutputProfile.FAST).getBytes());
+                BufferedImage actual = paintDirect(template, data);
+                // The top-left corner is page margin in every template, so it must come out white from both paths
+                if (!isWhite(expected.getRGB(0, 0)) || !isWhite(actual.getRGB(0, 0))) {
+                    passed = false;
+                    System.out.printf("FAIL: %s record %d has a non-white page background (PDF #%06x, preview #%06x)%n",
+                            templateName, i + 1, expected.getRGB(0, 0) & 0xFFFFFF, actual.getRGB(0, 0) & 0xFFFFFF);
+                }
+
+                BufferedImage diff = new BufferedImage(expected.getWidth(), expected.getHeight(), BufferedImage.TYPE_INT_RGB);
+                double fraction = diffFraction(expected, actual, diff);
+                worst = Math.max(worst, fraction);
+                if (fraction > options.maxDiffFraction) {
+                    passed = false;
+                    System.out.printf("FAIL: %s record %d differs in %.2f%% of pixels%n", templateName, i + 1, fraction * 100);
+                    if (options.diffDir != null) {
+                        ImageIO.write(diff, "png", options.diffDir.resolve(BatchRunner.fileNameFor(templateName + "-" + (i + 1), ".png")).toFile());
+                    }
+                }
+            }
+        }
+        System.out.printf("Compared %d pages per template at %.0f DPI; worst page differs in %.2f%% of pixels (limit %.2f%%)%n",
+                corpus.size(), options.scale * 72, worst * 100, options.maxDiffFraction * 100);
+        return passed ? 0 : 1;
+    }
+
+    private BufferedImage rasterizePdf(byte[] pdf) throws Exception {
+        PreviewTileRenderer renderer = PreviewTileRenderer.forPdf(pdf, Runnable::run, 0, null);
+        try {
+            return renderer.renderPage(0, options.scale);
+        } finally {
+            renderer.close();
+        }
+    }
+
+    private BufferedImage paintDirect(ResumeTemplate template, ResumeData data) throws Exception {
+        PreviewTileRenderer renderer = PreviewTileRenderer.forTemplate(template, data, null, Runnable::run, 0, null);
+        try {
+            return renderer.renderPage(0, options.scale);
+        } finally {
+            renderer.close();
+        }
+    }
+
+    // Share of pixels with no match within the tolerance in the other image, looking up to radius pixels away
+    // in both directions, so glyph edges rasterized a pixel apart don't count but anything misplaced further
+    // does; those are marked red in diff
+    private double diffFraction(BufferedImage expected, BufferedImage actual, BufferedImage diff) {
+        int width = Math.min(expected.getWidth(), actual.getWidth());
+        int height = Math.min(expected.getHeight(), actual.getHeight());
+        long different = 0;
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                int a = expected.getRGB(x, y);
+                boolean differs = !matchesNear(a, actual, x, y, width, height)
+                        || !matchesNear(actual.getRGB(x, y), expected, x, y, width, height);
+                if (differs) {
+                    different++;
+                    diff.setRGB(x, y, 0xFF0000);
+                } else {
+                    diff.setRGB(x, y, (a & 0xFEFEFE) >> 1 | 0x808080);
+                }
+            }
+        }
+        // Any size mismatch counts as fully different
+        long total = (long) expected.getWidth() * expected.getHeight();
+        different += total - (long) width * height;
+        return total == 0 ? 0 : (double) different / total;
+    }
+
+    private boolean matchesNear(int rgb, BufferedImage other, int x, int y, int width, int height) {
+        for (int dy = Math.max(0, y - options.radius); dy <= Math.min(height - 1, y + options.radius); dy++) {
+            for (int dx = Math.max(0, x - options.radius); dx <= Math.min(width - 1, x + options.radius); dx++) {
+                if (matches(rgb, other.getRGB(dx, dy))) return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean matches(int a, int b) {
+        return Math.abs(((a >> 16) & 0xFF) - ((b >> 16) & 0xFF)) <= options.channelTolerance
+                && Math.abs(((a >> 8) & 0xFF) - ((b >> 8) & 0xFF)) <= options.channelTolerance
+                && Math.abs((a & 0xFF) - (b & 0xFF)) <= options.channelTolerance;
+    }
+
+    private static boolean isWhite(int rgb) {
+        return (rgb & 0xFFFFFF) == 0xFFFFFF;
+    }
+}
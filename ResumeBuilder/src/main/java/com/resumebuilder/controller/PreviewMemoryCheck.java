@@ -0,0 +1,147 @@
+package com.resumebuilder.controller;
+
+import com.resumebuilder.model.ResumeData;
+import java.awt.image.BufferedImage;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.ArrayList;
+import java.util.List;
+
+// Heap regression check for previews: opens and closes the preview pipeline many times the way the preview
+// dialog does (thumbnails, the tiles of a viewport at two zoom levels, then close) and fails if the heap that
+// survives a full GC keeps growing after the warm-up previews.
+public class PreviewMemoryCheck {
+
+    public static class Options {
+        int iterations = 500;
+        int warmup = 50;
+        long maxGrowthBytes = 4L * 1024 * 1024;
+        boolean pool = true;
+
+        public static Options parse(String[] args) {
+            Options options = new Options();
+            for (int i = 0; i < args.length; i++) {
+                String arg = args[i];
+                if ("--check-preview-memory".equals(arg)) continue;
+                if (i + 1 >= args.length) {
+                    throw new IllegalArgumentException("Missing value for " + arg);
+                }
+                switch (arg) {
+                    case "--iterations": options.iterations = Integer.parseInt(args[++i]); break;
+                    case "--warmup": options.warmup = Integer.parseInt(args[++i]); break;
+                    case "--max-growth-mb": options.maxGrowthBytes = (long) (Double.parseDouble(args[++i]) * 1024 * 1024); break;
+                    case "--pool": options.pool = Boolean.parseBoolean(args[++i]); break;
+                    default: throw new IllegalArgumentException("Unknown option: " + arg);
+                }
+            }
+            if (options.warmup < 1 || options.iterations <= options.warmup) {
+                throw new IllegalArgumentException("--iterations must be larger than --warmup, which must be at least 1");
+            }
+            return options;
+        }
+    }
+
+    // Same budgets and viewport as the preview dialog
+    private static final long TILE_CACHE_BYTES = 48L * 1024 * 1024;
+    private static final long BUFFER_POOL_BYTES = 24L * 1024 * 1024;
+    private static final int VIEWPORT_WIDTH = 600;
+    private static final int VIEWPORT_HEIGHT = 800;
+
+    private final PdfGenerator pdfGenerator;
+    private final Options options;
+
+    public PreviewMemoryCheck(PdfGenerator pdfGenerator, Options options) {
+        this.pdfGenerator = pdfGenerator;
+        this.options = options;
+    }
+
+    public static boolean isCheckInvocation(String[] args) {
+        for (String arg : args) {
+            if ("--check-preview-memory".equals(arg)) return true;
+        }
+        return false;
+    }
+
+    public int run() throws Exception {
+        List<ResumeData> corpus = ScalabilityBenchmark.syntheticCorpus(8);
+        List<String> templateNames = pdfGenerator.getTemplateNames();
+        ImageBufferPool pool = options.pool ? new ImageBufferPool(BUFFER_POOL_BYTES) : null;
+
+        long baseline = 0;
+        long peak = 0;
+        for (int i = 0; i < options.iterations; i++) {
+            preview(pdfGenerator.createTemplate(templateNames.get(i % templateNames.size())), corpus.get(i % corpus.size()), pool);
+            if (i + 1 == options.warmup) {
+                baseline = usedHeapAfterGc();
+            } else if (i + 1 > options.warmup && (i + 1) % 50 == 0) {
+                peak = Math.max(peak, usedHeapAfterGc());
+            }
+        }
+        long end = usedHeapAfterGc();
+        peak = Math.max(peak, end);
+        long growth = peak - baseline;
+
+        System.out.printf("%d previews: retained heap %.1f MB after warm-up, %.1f MB at the end, %.1f MB at most (growth %.1f MB, limit %.1f MB)%n",
+                options.iterations, mb(baseline), mb(end), mb(peak), mb(growth), mb(options.maxGrowthBytes));
+        if (pool != null) {
+            System.out.printf("Buffer pool: %d rasters reused, %d allocated, %.1f MB pooled%n",
+                    pool.getReusedCount(), pool.getAllocatedCount(), mb(pool.getPooledBytes()));
+        }
+        if (growth > options.maxGrowthBytes) {
+            System.out.println("FAIL: retained heap keeps growing across previews");
+            return 1;
+        }
+        return 0;
+    }
+
+    // One preview dialog's worth of work, torn down the way handlePreview does when the dialog closes
+    private void preview(ResumeTemplate template, ResumeData data, ImageBufferPool pool) throws Exception {
+        PreviewTileRenderer renderer = PreviewTileRenderer.forTemplate(template, data, null, Runnable::run, TILE_CACHE_BYTES, pool);
+        List<BufferedImage> thumbnails = new ArrayList<>();
+        try {
+            for (int page = 0; page < renderer.getPageCount(); page++) {
+                thumbnails.add(renderer.renderPage(page, PageRasterizer.THUMBNAIL_DPI / 72f));
+            }
+            int fitZoom = Math.max(1, (int) (VIEWPORT_WIDTH * 100L / renderer.getPageWidth(0, 100)));
+            for (int zoom : new int[] {fitZoom, fitZoom * 2}) {
+                renderer.setZoom(zoom);
+                int columns = tilesFor(Math.min(VIEWPORT_WIDTH, renderer.getPageWidth(0, zoom)));
+                int rows = tilesFor(Math.min(VIEWPORT_HEIGHT, renderer.getPageHeight(0, zoom)));
+                for (int row = 0; row < rows; row++) {
+                    for (int column = 0; column < columns; column++) {
+                        renderer.getTile(0, zoom, column, row, Long.MAX_VALUE, () -> { });
+                    }
+                }
+            }
+        } finally {
+            renderer.close();
+            for (BufferedImage thumbnail : thumbnails) {
+                if (pool != null) {
+                    pool.release(thumbnail);
+                } else {
+                    thumbnail.flush();
+                }
+            }
+        }
+    }
+
+    private static int tilesFor(int pixels) {
+        return (pixels + PreviewTileRenderer.TILE_SIZE - 1) / PreviewTileRenderer.TILE_SIZE;
+    }
+
+    private static long usedHeapAfterGc() throws InterruptedException {
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        long used = Long.MAX_VALUE;
+        // A few rounds, keeping the lowest reading, since one System.gc() may not collect everything
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+            Thread.sleep(20);
+            used = Math.min(used, memory.getHeapMemoryUsage().getUsed());
+        }
+        return used;
+    }
+
+    private static double mb(long bytes) {
+        return bytes / (1024.0 * 1024.0);
+    }
+}
@@ -0,0 +1,262 @@
+package com.resumebuilder.controller;
+
+import com.resumebuilder.model.ResumeData;
+import org.apache.pdfbox.Loader;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
+import org.apache.pdfbox.rendering.PDFRenderer;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+// Rasterizes preview pages in fixed-size tiles at any zoom, so only the visible region is ever rendered.
+// Zoom is in percent of the page's point size: at 100% one PDF point is one pixel.
+public class PreviewTileRenderer implements AutoCloseable {
+    public static final int TILE_SIZE = 256;
+
+    private static final class TileKey {
+        final int page;
+        final int zoomPercent;
+        final int column;
+        final int row;
+
+        TileKey(int page, int zoomPercent, int column, int row) {
+            this.page = page;
+            this.zoomPercent = zoomPercent;
+            this.column = column;
+            this.row = row;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof TileKey)) return false;
+            TileKey other = (TileKey) o;
+            return page == other.page && zoomPercent == other.zoomPercent && column == other.column && row == other.row;
+        }
+
+        @Override
+        public int hashCode() {
+            return ((page * 31 + zoomPercent) * 31 + column) * 31 + row;
+        }
+    }
+
+    // Paints one page onto graphics whose origin is the page's top-left corner, at scale pixels per point
+    public interface PagePainter {
+        void paint(int page, Graphics2D graphics, float scale) throws Exception;
+    }
+
+    private final float[] pageWidths;
+    private final float[] pageHeights;
+    private final PagePainter painter;
+    private final boolean paintsInline;
+    private final BoundedImageCache<TileKey> cache;
+    private final Set<TileKey> pending = ConcurrentHashMap.newKeySet();
+    private final Executor executor;
+    // Supplies tile and page rasters and takes the tiles back on close; null to allocate fresh ones
+    private final ImageBufferPool bufferPool;
+    private volatile int currentZoom;
+    private volatile boolean closed;
+
+    private PreviewTileRenderer(float[] pageWidths, float[] pageHeights, PagePainter painter, boolean paintsInline, Executor executor, long cacheBudgetBytes, ImageBufferPool bufferPool) {
+        this.pageWidths = pageWidths;
+        this.pageHeights = pageHeights;
+        this.painter = painter;
+        this.paintsInline = paintsInline;
+        this.cache = new BoundedImageCache<>(cacheBudgetBytes);
+        this.executor = executor;
+        this.bufferPool = bufferPool;
+    }
+
+    // Rasterizes a serialized PDF through PDFBox; tiles are rendered on the given executor,
+    // normally the render scheduler at interactive priority
+    public static PreviewTileRenderer forPdf(byte[] pdf, Executor executor, long cacheBudgetBytes, ImageBufferPool bufferPool) throws IOException {
+        float[] widths;
+        float[] heights;
+        try (PDDocument document = Loader.loadPDF(pdf)) {
+            int pageCount = document.getNumberOfPages();
+            widths = new float[pageCount];
+            heights = new float[pageCount];
+            for (int i = 0; i < pageCount; i++) {
+                PDRectangle box = document.getPage(i).getCropBox();
+                widths[i] = box.getWidth();
+                heights[i] = box.getHeight();
+            }
+        }
+        return new PreviewTileRenderer(widths, heights, new PdfPagePainter(pdf), false, executor, cacheBudgetBytes, bufferPool);
+    }
+
+    // Paints the template straight onto each tile; cheap enough that tiles can be painted inside a frame
+    public static PreviewTileRenderer forTemplate(ResumeTemplate template, ResumeData data, BufferedImage image, Executor executor, long cacheBudgetBytes, ImageBufferPool bufferPool) {
+        PDRectangle page = PDRectangle.A4;
+        PagePainter painter = (pageIndex, graphics, scale) -> {
+            graphics.scale(scale, scale);
+            template.draw(new Graphics2DPageCanvas(graphics, page.getHeight()), data, image);
+        };
+        return new PreviewTileRenderer(new float[] {page.getWidth()}, new float[] {page.getHeight()}, painter, true, executor, cacheBudgetBytes, bufferPool);
+    }
+
+    public int getPageCount() {
+        return pageWidths.length;
+    }
+
+    public int getPageWidth(int page, int zoomPercent) {
+        return (int) Math.ceil(pageWidths[page] * zoomPercent / 100.0);
+    }
+
+    public int getPageHeight(int page, int zoomPercent) {
+        return (int) Math.ceil(pageHeights[page] * zoomPercent / 100.0);
+    }
+
+    // Tiles still queued for any other zoom are dropped instead of rendered
+    public void setZoom(int zoomPercent) {
+        currentZoom = zoomPercent;
+    }
+
+    // Returns the cached tile, or null after queueing it; onReady runs on a worker thread once it is cached.
+    // A painter that draws directly renders the tile on the calling thread instead while inlineDeadline
+    // (a System.nanoTime() value) hasn't passed, so a frame fills in without waiting for the workers.
+    public BufferedImage getTile(int page, int zoomPercent, int column, int row, long inlineDeadline, Runnable onReady) {
+        TileKey key = new TileKey(page, zoomPercent, column, row);
+        BufferedImage tile = cache.get(key);
+        if (tile != null) {
+            return tile;
+        }
+        if (paintsInline && System.nanoTime() < inlineDeadline) {
+            try {
+                tile = renderTile(key);
+                cache.put(key, tile);
+                return tile;
+            } catch (Exception ex) {
+                System.err.println("Preview tile failed: " + ex.getMessage());
+                return null;
+            }
+        }
+        if (!pending.add(key)) {
+            return null;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    if (closed || key.zoomPercent != currentZoom) return;
+                    BufferedImage rendered = renderTile(key);
+                    if (closed) return;
+                    cache.put(key, rendered);
+                    onReady.run();
+                } catch (Exception ex) {
+                    System.err.println("Preview tile failed: " + ex.getMessage());
+                } finally {
+                    pending.remove(key);
+                }
+            });
+        } catch (RejectedExecutionException ex) {
+            pending.remove(key);
+        }
+        return null;
+    }
+
+    public long getCachedBytes() {
+        return cache.getUsedBytes();
+    }
+
+    // Queued tiles are skipped from here on; the executor itself is shared and stays up.
+    // Cached tiles go back to the buffer pool, if there is one, for the next preview to draw into.
+    @Override
+    public void close() {
+        closed = true;
+        cache.clear(bufferPool != null ? bufferPool::release : BufferedImage::flush);
+        if (painter instanceof PdfPagePainter) {
+            ((PdfPagePainter) painter).close();
+        }
+    }
+
+    // The whole page at the given scale, e.g. for thumbnails; drawn into a pooled buffer when there is a pool,
+    // which the caller should release once done with it
+    public BufferedImage renderPage(int page, float scale) throws Exception {
+        int width = (int) Math.ceil(pageWidths[page] * scale);
+        int height = (int) Math.ceil(pageHeights[page] * scale);
+        BufferedImage image = newImage(width, height);
+        Graphics2D graphics = image.createGraphics();
+        try {
+            graphics.setColor(Color.WHITE);
+            graphics.fillRect(0, 0, width, height);
+            painter.paint(page, graphics, scale);
+        } finally {
+            graphics.dispose();
+        }
+        return image;
+    }
+
+    // Draws the whole page through a clip translated to the tile, so only the tile's pixels are filled
+    private BufferedImage renderTile(TileKey key) throws Exception {
+        int x = key.column * TILE_SIZE;
+        int y = key.row * TILE_SIZE;
+        int width = Math.min(TILE_SIZE, getPageWidth(key.page, key.zoomPercent) - x);
+        int height = Math.min(TILE_SIZE, getPageHeight(key.page, key.zoomPercent) - y);
+        BufferedImage tile = newImage(width, height);
+        Graphics2D graphics = tile.createGraphics();
+        try {
+            graphics.setColor(Color.WHITE);
+            graphics.fillRect(0, 0, width, height);
+            graphics.translate(-x, -y);
+            graphics.clipRect(x, y, width, height);
+            painter.paint(key.page, graphics, key.zoomPercent / 100f);
+        } finally {
+            graphics.dispose();
+        }
+        return tile;
+    }
+
+    // Pooled buffers keep their old pixels, but every caller fills the whole image with white first
+    private BufferedImage newImage(int width, int height) {
+        return bufferPool != null ? bufferPool.acquire(width, height) : new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+    }
+
+    private static class PdfPagePainter implements PagePainter {
+        private final byte[] pdf;
+        private final List<PDDocument> documents = new ArrayList<>();
+        private final ThreadLocal<PDFRenderer> renderers;
+
+        PdfPagePainter(byte[] pdf) {
+            this.pdf = pdf;
+            // PDFRenderer is not thread-safe, so each tile worker parses its own copy of the document once
+            this.renderers = ThreadLocal.withInitial(() -> {
+                try {
+                    PDDocument document = Loader.loadPDF(this.pdf);
+                    synchronized (documents) {
+                        documents.add(document);
+                    }
+                    return new PDFRenderer(document);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        }
+
+        @Override
+        public void paint(int page, Graphics2D graphics, float scale) throws IOException {
+            // PDFRenderer starts by clearing to the background colour, which is black unless set
+            graphics.setBackground(Color.WHITE);
+            renderers.get().renderPageToGraphics(page, graphics, scale);
+        }
+
+        void close() {
+            synchronized (documents) {
+                for (PDDocument document : documents) {
+                    try {
+                        document.close();
+                    } catch (IOException ignored) {
+                    }
+                }
+                documents.clear();
+            }
+        }
+    }
+}
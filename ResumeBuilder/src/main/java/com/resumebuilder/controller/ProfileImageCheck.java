@@ -0,0 +1,79 @@
+package com.resumebuilder.controller;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+// Photo sizing check: writes photos just under, at and just over the multiples of ProfileImageLoader.MAX_PIXELS
+// and fails unless every one larger than MAX_PIXELS loads at exactly MAX_PIXELS on its longest side, with its
+// aspect ratio kept, so the same layout always places the photo at the same size.
+public class ProfileImageCheck {
+
+    public static class Options {
+        Path workDir;
+
+        public static Options parse(String[] args) {
+            Options options = new Options();
+            for (int i = 0; i < args.length; i++) {
+                String arg = args[i];
+                if ("--check-photo-size".equals(arg)) continue;
+                if (i + 1 >= args.length) {
+                    throw new IllegalArgumentException("Missing value for " + arg);
+                }
+                switch (arg) {
+                    case "--work-dir": options.workDir = Paths.get(args[++i]); break;
+                    default: throw new IllegalArgumentException("Unknown option: " + arg);
+                }
+            }
+            return options;
+        }
+    }
+
+    private static final int[] SIZES = {400, 749, 750, 751, 1499, 1500, 1501, 1600, 4000};
+
+    private final Options options;
+
+    public ProfileImageCheck(Options options) {
+        this.options = options;
+    }
+
+    public static boolean isCheckInvocation(String[] args) {
+        for (String arg : args) {
+            if ("--check-photo-size".equals(arg)) return true;
+        }
+        return false;
+    }
+
+    public int run() throws Exception {
+        Path workDir = options.workDir != null ? Files.createDirectories(options.workDir) : Files.createTempDirectory("photo-check");
+        int max = ProfileImageLoader.MAX_PIXELS;
+        boolean passed = true;
+        for (int size : SIZES) {
+            // Landscape and portrait, 3:2
+            for (boolean portrait : new boolean[] {false, true}) {
+                int shorter = size * 2 / 3;
+                int width = portrait ? shorter : size;
+                int height = portrait ? size : shorter;
+                Path file = workDir.resolve("photo-" + width + "x" + height + ".png");
+                ImageIO.write(new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB), "png", file.toFile());
+
+                BufferedImage loaded = new ProfileImageLoader(64L * 1024 * 1024).load(file);
+                int expectedLongest = Math.min(size, max);
+                int expectedShorter = (int) Math.round(shorter * Math.min(1.0, (double) max / size));
+                int loadedLongest = portrait ? loaded.getHeight() : loaded.getWidth();
+                int loadedShorter = portrait ? loaded.getWidth() : loaded.getHeight();
+                System.out.printf("%5d x %-5d -> %4d x %-4d placed at %.1f x %.1f pt%n", width, height,
+                        loaded.getWidth(), loaded.getHeight(), loaded.getWidth() * 0.2, loaded.getHeight() * 0.2);
+                if (loadedLongest != expectedLongest || Math.abs(loadedShorter - expectedShorter) > 1) {
+                    System.out.println("FAIL: expected " + expectedLongest + " px on the longest side and about "
+                            + expectedShorter + " px on the other");
+                    passed = false;
+                }
+            }
+        }
+        System.out.println(passed ? "Every photo over " + max + " px loads at exactly " + max + " px" : "Photo size check failed");
+        return passed ? 0 : 1;
+    }
+}
@@ -0,0 +1,187 @@
+package com.resumebuilder.controller;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+
+// Loads profile pictures at the size they are placed on the page rather than at camera resolution.
+// The reader looks at the header first and decodes with source subsampling, so a 24 MP photo never exists as
+// a full-size raster; EXIF orientation is applied afterwards. Decoded images are cached by path, modification
+// time and size, so a photo shared by many batch records is decoded once.
+public class ProfileImageLoader {
+    // Templates draw one image pixel as 0.2 pt, so every larger photo is placed at 150 pt (about 5 cm) on its
+    // longest side, still 360 DPI in print. Smaller images load at full size and lay out exactly as before.
+    public static final int MAX_PIXELS = 750;
+
+    private final BoundedImageCache<String> cache;
+
+    public ProfileImageLoader(long cacheBudgetBytes) {
+        this.cache = new BoundedImageCache<>(cacheBudgetBytes);
+    }
+
+    // Two threads asking for the same uncached file may both decode it; the second result simply replaces the first
+    public BufferedImage load(Path file) throws IOException {
+        String key = describe(file);
+        BufferedImage image = cache.get(key);
+        if (image == null) {
+            image = decode(file, MAX_PIXELS);
+            cache.put(key, image);
+        }
+        return image;
+    }
+
+    // Identifies the file's current content, so batch builds re-render a record when its photo changes
+    public static String describe(Path file) throws IOException {
+        return file.toAbsolutePath() + "@" + Files.getLastModifiedTime(file).toMillis() + ":" + Files.size(file);
+    }
+
+    static BufferedImage decode(Path file, int maxPixels) throws IOException {
+        BufferedImage image;
+        try (ImageInputStream input = ImageIO.createImageInputStream(file.toFile())) {
+            if (input == null) {
+                throw new IOException("Cannot open " + file);
+            }
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+            if (!readers.hasNext()) {
+                throw new IOException("Unsupported image format: " + file.getFileName());
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                int longest = Math.max(reader.getWidth(0), reader.getHeight(0));
+                ImageReadParam param = reader.getDefaultReadParam();
+                // Every step-th pixel in each direction, keeping at least maxPixels (and under twice that) on the
+                // longest side for the resample below
+                int step = Math.max(1, longest / maxPixels);
+                if (step > 1) {
+                    param.setSourceSubsampling(step, step, 0, 0);
+                }
+                image = reader.read(0, param);
+            } finally {
+                reader.dispose();
+            }
+        }
+        return orient(fitLongestSide(image, maxPixels), exifOrientation(file));
+    }
+
+    // Resamples to exactly maxPixels on the longest side, so a photo is placed at the same size whatever its
+    // resolution; subsampling alone only reaches whole fractions of it (a 751 px photo would halve to 376 px)
+    static BufferedImage fitLongestSide(BufferedImage image, int maxPixels) {
+        int longest = Math.max(image.getWidth(), image.getHeight());
+        if (longest <= maxPixels) return image;
+        double ratio = (double) maxPixels / longest;
+        int width = Math.max(1, (int) Math.round(image.getWidth() * ratio));
+        int height = Math.max(1, (int) Math.round(image.getHeight() * ratio));
+        int type = image.getColorModel().hasAlpha() ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB;
+        BufferedImage fitted = new BufferedImage(width, height, type);
+        Graphics2D graphics = fitted.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.drawImage(image, 0, 0, width, height, null);
+        } finally {
+            graphics.dispose();
+        }
+        return fitted;
+    }
+
+    // Applies an EXIF orientation (1-8); phones store portraits as landscape pixels plus this tag
+    static BufferedImage orient(BufferedImage image, int orientation) {
+        if (orientation <= 1 || orientation > 8) return image;
+        int width = image.getWidth();
+        int height = image.getHeight();
+        boolean swap = orientation >= 5;
+        AffineTransform transform = new AffineTransform();
+        switch (orientation) {
+            case 2: transform.translate(width, 0); transform.scale(-1, 1); break;
+            case 3: transform.translate(width, height); transform.rotate(Math.PI); break;
+            case 4: transform.translate(0, height); transform.scale(1, -1); break;
+            case 5: transform.rotate(Math.PI / 2); transform.scale(1, -1); break;
+            case 6: transform.translate(height, 0); transform.rotate(Math.PI / 2); break;
+            case 7: transform.translate(height, width); transform.scale(-1, 1); transform.rotate(3 * Math.PI / 2); break;
+            case 8: transform.translate(0, width); transform.rotate(3 * Math.PI / 2); break;
+            default: break;
+        }
+        int type = image.getColorModel().hasAlpha() ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB;
+        BufferedImage oriented = new BufferedImage(swap ? height : width, swap ? width : height, type);
+        Graphics2D graphics = oriented.createGraphics();
+        try {
+            graphics.drawImage(image, transform, null);
+        } finally {
+            graphics.dispose();
+        }
+        return oriented;
+    }
+
+    // Reads the Orientation tag from a JPEG's Exif segment; 1 (as stored) for anything else
+    static int exifOrientation(Path file) throws IOException {
+        try (DataInputStream in = new DataInputStream(Files.newInputStream(file))) {
+            if (in.readUnsignedShort() != 0xFFD8) return 1;
+            while (true) {
+                int marker = in.readUnsignedShort();
+                // Start of scan or a standalone marker: no Exif segment before the image data
+                if (marker == 0xFFDA || (marker & 0xFF00) != 0xFF00) return 1;
+                int length = in.readUnsignedShort() - 2;
+                if (marker != 0xFFE1) {
+                    skipFully(in, length);
+                    continue;
+                }
+                byte[] segment = new byte[length];
+                in.readFully(segment);
+                return orientationFromExif(segment);
+            }
+        } catch (EOFException ex) {
+            return 1;
+        }
+    }
+
+    private static int orientationFromExif(byte[] segment) {
+        // "Exif\0\0" followed by a TIFF header
+        if (segment.length < 14 || segment[0] != 'E' || segment[1] != 'x' || segment[2] != 'i' || segment[3] != 'f') return 1;
+        int tiff = 6;
+        boolean littleEndian = segment[tiff] == 'I';
+        int ifd = tiff + readInt(segment, tiff + 4, littleEndian);
+        if (ifd + 2 > segment.length) return 1;
+        int entries = readShort(segment, ifd, littleEndian);
+        for (int i = 0; i < entries; i++) {
+            int entry = ifd + 2 + i * 12;
+            if (entry + 12 > segment.length) break;
+            if (readShort(segment, entry, littleEndian) == 0x0112) {
+                return readShort(segment, entry + 8, littleEndian);
+            }
+        }
+        return 1;
+    }
+
+    private static int readShort(byte[] bytes, int offset, boolean littleEndian) {
+        int a = bytes[offset] & 0xFF;
+        int b = bytes[offset + 1] & 0xFF;
+        return littleEndian ? (b << 8) | a : (a << 8) | b;
+    }
+
+    private static int readInt(byte[] bytes, int offset, boolean littleEndian) {
+        int high = readShort(bytes, offset + (littleEndian ? 2 : 0), littleEndian);
+        int low = readShort(bytes, offset + (littleEndian ? 0 : 2), littleEndian);
+        return (high << 16) | low;
+    }
+
+    private static void skipFully(InputStream in, int count) throws IOException {
+        while (count > 0) {
+            long skipped = in.skip(count);
+            if (skipped <= 0) throw new EOFException();
+            count -= (int) skipped;
+        }
+    }
+}
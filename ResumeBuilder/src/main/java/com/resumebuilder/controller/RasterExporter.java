@@ -0,0 +1,106 @@
+package com.resumebuilder.controller;
+
+import com.resumebuilder.model.ResumeData;
+import org.apache.pdfbox.Loader;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
+import org.apache.pdfbox.rendering.PDFRenderer;
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+
+// Headless PNG/JPEG export of the first page, e.g. for web thumbnails. Safe to call from many threads:
+// each thread keeps one RGB buffer and reuses it while the output size stays the same.
+public class RasterExporter {
+
+    public enum Format {
+        PNG("png", ".png"),
+        JPEG("jpeg", ".jpg");
+
+        private final String imageIoName;
+        private final String extension;
+
+        Format(String imageIoName, String extension) {
+            this.imageIoName = imageIoName;
+            this.extension = extension;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+
+        public static Format fromName(String name) {
+            if ("png".equalsIgnoreCase(name)) return PNG;
+            if ("jpg".equalsIgnoreCase(name) || "jpeg".equalsIgnoreCase(name)) return JPEG;
+            throw new IllegalArgumentException("Unknown raster format: " + name);
+        }
+    }
+
+    private final PdfGenerator pdfGenerator;
+    private final Format format;
+    private final float dpi;
+    private final int targetWidth;
+    private final ThreadLocal<BufferedImage> buffers = new ThreadLocal<>();
+
+    // targetWidth in pixels takes precedence over dpi when it is positive
+    public RasterExporter(PdfGenerator pdfGenerator, Format format, float dpi, int targetWidth) {
+        this.pdfGenerator = pdfGenerator;
+        this.format = format;
+        this.dpi = dpi;
+        this.targetWidth = targetWidth;
+    }
+
+    public Format getFormat() {
+        return format;
+    }
+
+    // Identifies the output settings, so incremental builds re-render when they change
+    public String describe() {
+        return format + "@" + (targetWidth > 0 ? targetWidth + "px" : dpi + "dpi");
+    }
+
+    public RenderResult export(ResumeData data, String templateName) throws Exception {
+        return export(data, templateName, null);
+    }
+
+    public RenderResult export(ResumeData data, String templateName, BufferedImage photo) throws Exception {
+        long start = System.nanoTime();
+        byte[] pdf = pdfGenerator.render(data, templateName, photo, OutputProfile.FAST).getBytes();
+        BufferedImage image;
+        try (PDDocument document = Loader.loadPDF(pdf)) {
+            PDRectangle cropBox = document.getPage(0).getCropBox();
+            float scale = targetWidth > 0 ? targetWidth / cropBox.getWidth() : dpi / 72f;
+            int width = Math.max(1, Math.round(cropBox.getWidth() * scale));
+            int height = Math.max(1, Math.round(cropBox.getHeight() * scale));
+            image = buffer(width, height);
+
+            Graphics2D graphics = image.createGraphics();
+            try {
+                graphics.setBackground(Color.WHITE);
+                graphics.clearRect(0, 0, width, height);
+                new PDFRenderer(document).renderPageToGraphics(0, graphics, scale);
+            } finally {
+                graphics.dispose();
+            }
+        }
+        long rendered = System.nanoTime();
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        if (!ImageIO.write(image, format.imageIoName, output)) {
+            throw new IllegalStateException("No ImageIO writer for " + format);
+        }
+        return new RenderResult(output.toByteArray(), rendered - start, System.nanoTime() - rendered);
+    }
+
+    private BufferedImage buffer(int width, int height) {
+        BufferedImage image = buffers.get();
+        if (image == null || image.getWidth() != width || image.getHeight() != height) {
+            // TYPE_INT_RGB has no alpha channel, which the JPEG writer requires
+            image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+            buffers.set(image);
+        }
+        return image;
+    }
+}
@@ -0,0 +1,34 @@
+package com.resumebuilder.controller;
+
+public class RenderResult {
+    private final byte[] bytes;
+    private final long layoutNanos;
+    private final long encodeNanos;
+
+    public RenderResult(byte[] bytes, long layoutNanos, long encodeNanos) {
+        this.bytes = bytes;
+        this.layoutNanos = layoutNanos;
+        this.encodeNanos = encodeNanos;
+    }
+
+    public byte[] getBytes() {
+        return bytes;
+    }
+
+    public int getSize() {
+        return bytes.length;
+    }
+
+    public long getLayoutNanos() {
+        return layoutNanos;
+    }
+
+    public long getEncodeNanos() {
+        return encodeNanos;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d bytes, layout %.2f ms, encode %.2f ms", bytes.length, layoutNanos / 1_000_000.0, encodeNanos / 1_000_000.0);
+    }
+}
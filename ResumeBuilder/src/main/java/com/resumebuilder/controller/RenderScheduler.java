@@ -0,0 +1,247 @@
+package com.resumebuilder.controller;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+// One pool of render threads shared by previews, thumbnails and batch work.
+// Each priority class has a concurrency cap; by default bulk work can't take the last thread, so an
+// interactive request never waits for a running batch render to finish. Among queued tasks the one with the
+// earliest enqueue time plus its class offset (ordinal x aging interval) runs first, so an interactive task
+// overtakes bulk work that arrived less than two aging intervals earlier, and bulk work is never starved.
+public class RenderScheduler {
+    public static final long DEFAULT_AGING_MILLIS = 500;
+
+    public enum Priority {
+        INTERACTIVE, NORMAL, BULK
+    }
+
+    public static class Stats {
+        private final Priority priority;
+        private final int queued;
+        private final int running;
+        private final long completed;
+        private final double waitP50Millis;
+        private final double waitP99Millis;
+
+        Stats(Priority priority, int queued, int running, long completed, double waitP50Millis, double waitP99Millis) {
+            this.priority = priority;
+            this.queued = queued;
+            this.running = running;
+            this.completed = completed;
+            this.waitP50Millis = waitP50Millis;
+            this.waitP99Millis = waitP99Millis;
+        }
+
+        public Priority getPriority() {
+            return priority;
+        }
+
+        public int getQueued() {
+            return queued;
+        }
+
+        public int getRunning() {
+            return running;
+        }
+
+        public long getCompleted() {
+            return completed;
+        }
+
+        public double getWaitP50Millis() {
+            return waitP50Millis;
+        }
+
+        public double getWaitP99Millis() {
+            return waitP99Millis;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s: %d queued, %d running, %d completed, wait p50 %.2f ms, p99 %.2f ms",
+                    priority, queued, running, completed, waitP50Millis, waitP99Millis);
+        }
+    }
+
+    private static final class Task {
+        final Priority priority;
+        final Runnable runnable;
+        final long enqueuedNanos;
+
+        Task(Priority priority, Runnable runnable) {
+            this.priority = priority;
+            this.runnable = runnable;
+            this.enqueuedNanos = System.nanoTime();
+        }
+    }
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition changed = lock.newCondition();
+    private final Map<Priority, ArrayDeque<Task>> queues = new EnumMap<>(Priority.class);
+    private final Map<Priority, Integer> caps = new EnumMap<>(Priority.class);
+    private final Map<Priority, Integer> running = new EnumMap<>(Priority.class);
+    private final Map<Priority, Long> completed = new EnumMap<>(Priority.class);
+    private final Map<Priority, LatencyHistogram> waits = new EnumMap<>(Priority.class);
+    private final long agingNanos;
+    private final List<Thread> workers = new ArrayList<>();
+    private boolean shutdown;
+
+    // At least two threads, even on one core, so bulk work never holds the thread interactive work needs
+    public RenderScheduler(int threads) {
+        this(Math.max(2, threads), Math.max(2, threads), Math.max(2, threads), Math.max(2, threads) - 1, DEFAULT_AGING_MILLIS);
+    }
+
+    public RenderScheduler(int threads, int interactiveCap, int normalCap, int bulkCap, long agingMillis) {
+        int poolSize = Math.max(1, threads);
+        caps.put(Priority.INTERACTIVE, Math.max(1, interactiveCap));
+        caps.put(Priority.NORMAL, Math.max(1, normalCap));
+        caps.put(Priority.BULK, Math.max(1, bulkCap));
+        for (Priority priority : Priority.values()) {
+            queues.put(priority, new ArrayDeque<>());
+            running.put(priority, 0);
+            completed.put(priority, 0L);
+            waits.put(priority, new LatencyHistogram());
+        }
+        this.agingNanos = TimeUnit.MILLISECONDS.toNanos(agingMillis);
+        for (int i = 0; i < poolSize; i++) {
+            Thread worker = new Thread(this::workLoop, "render-scheduler-" + (i + 1));
+            worker.setDaemon(true);
+            workers.add(worker);
+            worker.start();
+        }
+    }
+
+    public <T> Future<T> submit(Priority priority, Callable<T> callable) {
+        FutureTask<T> task = new FutureTask<>(callable);
+        execute(priority, task);
+        return task;
+    }
+
+    public void execute(Priority priority, Runnable runnable) {
+        lock.lock();
+        try {
+            if (shutdown) {
+                throw new RejectedExecutionException("Render scheduler is shut down");
+            }
+            queues.get(priority).addLast(new Task(priority, runnable));
+            changed.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // An Executor view that submits everything at one priority
+    public Executor executor(Priority priority) {
+        return runnable -> execute(priority, runnable);
+    }
+
+    public List<Stats> getStats() {
+        List<Stats> stats = new ArrayList<>();
+        for (Priority priority : Priority.values()) {
+            // The histogram needs no lock, so only the counters are read under it
+            LatencyHistogram wait = waits.get(priority);
+            double p50 = wait.percentileMillis(50);
+            double p99 = wait.percentileMillis(99);
+            lock.lock();
+            try {
+                stats.add(new Stats(priority, queues.get(priority).size(), running.get(priority), completed.get(priority), p50, p99));
+            } finally {
+                lock.unlock();
+            }
+        }
+        return stats;
+    }
+
+    public int getQueueDepth(Priority priority) {
+        lock.lock();
+        try {
+            return queues.get(priority).size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Already queued tasks still run; the workers exit once the queues are empty
+    public void shutdown() {
+        lock.lock();
+        try {
+            shutdown = true;
+            changed.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void awaitTermination() throws InterruptedException {
+        for (Thread worker : workers) {
+            worker.join();
+        }
+    }
+
+    private void workLoop() {
+        while (true) {
+            Task task;
+            lock.lock();
+            try {
+                while ((task = pollNext()) == null) {
+                    if (shutdown && isEmpty()) return;
+                    changed.awaitUninterruptibly();
+                }
+                running.merge(task.priority, 1, Integer::sum);
+            } finally {
+                lock.unlock();
+            }
+
+            waits.get(task.priority).record(System.nanoTime() - task.enqueuedNanos);
+            try {
+                task.runnable.run();
+            } catch (Throwable t) {
+                System.err.println("Render task failed: " + t);
+            } finally {
+                lock.lock();
+                try {
+                    running.merge(task.priority, -1, Integer::sum);
+                    completed.merge(task.priority, 1L, Long::sum);
+                    // A freed slot may unblock a class that was at its cap
+                    changed.signalAll();
+                } finally {
+                    lock.unlock();
+                }
+            }
+        }
+    }
+
+    // Caller holds the lock
+    private Task pollNext() {
+        Priority best = null;
+        long bestDeadline = 0;
+        for (Priority priority : Priority.values()) {
+            Task head = queues.get(priority).peekFirst();
+            if (head == null || running.get(priority) >= caps.get(priority)) continue;
+            long deadline = head.enqueuedNanos + priority.ordinal() * agingNanos;
+            if (best == null || deadline - bestDeadline < 0) {
+                best = priority;
+                bestDeadline = deadline;
+            }
+        }
+        return best == null ? null : queues.get(best).pollFirst();
+    }
+
+    private boolean isEmpty() {
+        for (ArrayDeque<Task> queue : queues.values()) {
+            if (!queue.isEmpty()) return false;
+        }
+        return true;
+    }
+}
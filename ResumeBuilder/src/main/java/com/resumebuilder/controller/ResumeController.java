@@ -2,70 +2,241 @@ package com.resumebuilder.controller;
 
 import com.resumebuilder.model.ResumeData;
 import com.resumebuilder.view.ResumeFrame;
+import com.resumebuilder.view.TemplateChooserDialog;
+import com.resumebuilder.view.TiledPageView;
 import javax.swing.*;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
 import java.awt.image.BufferedImage;
-import java.io.File;
-import javax.imageio.ImageIO;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 public class ResumeController {
     private ResumeFrame view;
     private ResumeData model;
-    private PdfGenerator pdfGenerator;
+    // Built by the warm-up thread once the frame is showing, or by the first action needing them if sooner
+    private volatile PdfGenerator pdfGenerator;
+    private PageRasterizer pageRasterizer;
+    private RenderScheduler renderScheduler;
+    private TemplateThumbnailCache thumbnailCache;
+    private AutosaveJournal autosaveJournal;
+    private final IncrementalValidator validator = new IncrementalValidator();
+    // Latest text of each validated field as seen on the EDT; a background result is only shown while the
+    // field still holds the value that was checked
+    private final Map<String, String> latestFieldValues = new HashMap<>();
+
+    private boolean firstPreviewReported;
+
+    // Tiles for every zoom level share this budget; a full A4 page at 400% alone would be about 32 MB
+    private static final long PREVIEW_TILE_CACHE_BYTES = 48L * 1024 * 1024;
+    // Tiles and thumbnails of a closed preview wait here for the next one, so repeated previews reuse their rasters
+    private static final long PREVIEW_BUFFER_POOL_BYTES = 24L * 1024 * 1024;
+    private final ImageBufferPool previewBuffers = new ImageBufferPool(PREVIEW_BUFFER_POOL_BYTES);
 
     public ResumeController() {
         model = new ResumeData();
-        pdfGenerator = new PdfGenerator();
+        renderScheduler = new RenderScheduler(Runtime.getRuntime().availableProcessors());
         view = new ResumeFrame(this);
         model = view.getData();
+        startAutosave();
+        startValidation();
+        // The frame is already visible; PDFBox is set up and warmed while the user is typing
+        PdfWarmup.startInBackground(this::pdfGenerator, this::pageRasterizer);
+    }
+
+    private synchronized PdfGenerator pdfGenerator() {
+        if (pdfGenerator == null) {
+            PdfGenerator generator = new PdfGenerator();
+            pageRasterizer = new PageRasterizer();
+            thumbnailCache = new TemplateThumbnailCache(generator, pageRasterizer, renderScheduler);
+            pdfGenerator = generator;
+            // The frame was built with the built-in templates only; custom ones are known from here on
+            List<String> names = generator.getTemplateNames();
+            SwingUtilities.invokeLater(() -> view.setTemplateNames(names));
+        }
+        return pdfGenerator;
+    }
+
+    private synchronized PageRasterizer pageRasterizer() {
+        pdfGenerator();
+        return pageRasterizer;
+    }
+
+    private synchronized TemplateThumbnailCache thumbnailCache() {
+        pdfGenerator();
+        return thumbnailCache;
+    }
+
+    // Restores the last autosaved draft, then journals every edit from here on
+    private void startAutosave() {
+        autosaveJournal = new AutosaveJournal(AutosaveJournal.defaultDirectory());
+        try {
+            Map<String, String> recovered = autosaveJournal.recover();
+            if (!recovered.isEmpty()) {
+                ResumeFields.applyAll(model, recovered);
+                view.refreshFromData();
+            }
+        } catch (Exception ex) {
+            System.err.println("Could not recover autosave: " + ex.getMessage());
+        }
+        view.addFieldListener(autosaveJournal::recordChange);
+        Runtime.getRuntime().addShutdownHook(new Thread(autosaveJournal::close, "autosave-close"));
+    }
+
+    // Validates each field as it is edited, off the EDT, and shows the outcome inline on the field
+    private void startValidation() {
+        for (Map.Entry<String, String> field : ResumeFields.toMap(model).entrySet()) {
+            validateInBackground(field.getKey(), field.getValue());
+        }
+        view.addFieldListener(this::validateInBackground);
+    }
+
+    private void validateInBackground(String key, String value) {
+        if (!InputValidator.isValidated(key)) return;
+        latestFieldValues.put(key, value);
+        renderScheduler.execute(RenderScheduler.Priority.INTERACTIVE, () -> {
+            String error = validator.validate(key, value);
+            SwingUtilities.invokeLater(() -> {
+                if (value.equals(latestFieldValues.get(key))) {
+                    view.setFieldError(key, error);
+                }
+            });
+        });
+    }
+
+    // Full check before previewing or generating; every field was already checked as it was typed,
+    // so this is answered from the validator's cache
+    public List<String> validate(ResumeData data) {
+        return validator.validateAll(data, view::setFieldError);
     }
 
     public void handlePreview(String template) {
+        long clickNanos = System.nanoTime();
+        PreviewTileRenderer tileRenderer = null;
+        List<BufferedImage> thumbnails = new ArrayList<>();
         try {
             model = view.getData();
-            java.nio.file.Path tempFile = java.nio.file.Files.createTempFile("resume_preview_", ".pdf");
-            File tempPDF = tempFile.toFile();
-            tempPDF.deleteOnExit();
+            // Previews skip PDF serialization entirely: the template paints straight onto each tile,
+            // through the same layout code that writes the exported PDF
+            ResumeTemplate resumeTemplate = pdfGenerator().createTemplate(template);
+            tileRenderer = PreviewTileRenderer.forTemplate(resumeTemplate, model, null,
+                    renderScheduler.executor(RenderScheduler.Priority.INTERACTIVE), PREVIEW_TILE_CACHE_BYTES, previewBuffers);
 
-            pdfGenerator.generatePDFToFile(view, model, template, tempPDF, null);
+            // Low-DPI thumbnails stand in for each tile until its full-resolution render arrives
+            for (int page = 0; page < tileRenderer.getPageCount(); page++) {
+                thumbnails.add(tileRenderer.renderPage(page, PageRasterizer.THUMBNAIL_DPI / 72f));
+            }
 
-            try (org.apache.pdfbox.pdmodel.PDDocument document = org.apache.pdfbox.Loader.loadPDF(tempPDF)) {
-                org.apache.pdfbox.rendering.PDFRenderer pdfRenderer = new org.apache.pdfbox.rendering.PDFRenderer(document);
-                java.awt.image.BufferedImage image = pdfRenderer.renderImageWithDPI(0, 300);
+            int maxWidth = 600;
+            int maxHeight = 800;
+            TiledPageView pageView = new TiledPageView(tileRenderer, thumbnails);
+            pageView.setZoom(pageView.zoomToFitWidth(maxWidth));
 
-                int maxWidth = 600;
-                int maxHeight = 800;
-                double scale = Math.min((double) maxWidth / image.getWidth(), (double) maxHeight / image.getHeight());
-                int scaledWidth = (int) (image.getWidth() * scale);
-                int scaledHeight = (int) (image.getHeight() * scale);
-                java.awt.Image scaledImage = image.getScaledInstance(scaledWidth, scaledHeight, java.awt.Image.SCALE_SMOOTH);
-                ImageIcon icon = new ImageIcon(scaledImage);
+            JPanel thumbnailPanel = new JPanel();
+            thumbnailPanel.setLayout(new BoxLayout(thumbnailPanel, BoxLayout.Y_AXIS));
+            for (int i = 0; i < thumbnails.size(); i++) {
+                int page = i;
+                JButton thumbnailButton = new JButton(new ImageIcon(thumbnails.get(i)));
+                thumbnailButton.addActionListener(e -> pageView.scrollRectToVisible(pageView.getPageBounds(page)));
+                thumbnailPanel.add(thumbnailButton);
+            }
 
-                JDialog previewDialog = new JDialog(view, "Resume Preview", true);
-                previewDialog.setDefaultCloseOperation(JDialog.DISPOSE_ON_CLOSE);
-                previewDialog.setLayout(new java.awt.BorderLayout());
+            JDialog previewDialog = new JDialog(view, "Resume Preview", true);
+            previewDialog.setDefaultCloseOperation(JDialog.DISPOSE_ON_CLOSE);
+            previewDialog.setLayout(new java.awt.BorderLayout());
 
-                JLabel pdfLabel = new JLabel(icon);
-                JScrollPane scrollPane = new JScrollPane(pdfLabel);
-                previewDialog.add(scrollPane, java.awt.BorderLayout.CENTER);
+            JScrollPane scrollPane = new JScrollPane(pageView);
+            scrollPane.getVerticalScrollBar().setUnitIncrement(16);
+            previewDialog.add(scrollPane, java.awt.BorderLayout.CENTER);
+            if (thumbnails.size() > 1) {
+                previewDialog.add(new JScrollPane(thumbnailPanel), java.awt.BorderLayout.WEST);
+            }
 
-                JButton closeButton = new JButton("Close");
-                closeButton.addActionListener(e -> previewDialog.dispose());
-                previewDialog.add(closeButton, java.awt.BorderLayout.SOUTH);
+            JLabel zoomLabel = new JLabel(pageView.getZoom() + "%");
+            pageView.addPropertyChangeListener("zoom", e -> zoomLabel.setText(e.getNewValue() + "%"));
+            JButton zoomOutButton = new JButton("-");
+            zoomOutButton.addActionListener(e -> pageView.zoomOut());
+            JButton zoomInButton = new JButton("+");
+            zoomInButton.addActionListener(e -> pageView.zoomIn());
+            JButton fitButton = new JButton("Fit Width");
+            fitButton.addActionListener(e -> pageView.setZoom(pageView.zoomToFitWidth(scrollPane.getViewport().getWidth())));
+            JButton closeButton = new JButton("Close");
+            closeButton.addActionListener(e -> previewDialog.dispose());
 
-                previewDialog.setSize(scaledWidth + 20, scaledHeight + 80);
-                previewDialog.setLocationRelativeTo(view);
-                previewDialog.setVisible(true);
+            JPanel controlsPanel = new JPanel();
+            controlsPanel.add(zoomOutButton);
+            controlsPanel.add(zoomLabel);
+            controlsPanel.add(zoomInButton);
+            controlsPanel.add(fitButton);
+            controlsPanel.add(closeButton);
+            previewDialog.add(controlsPanel, java.awt.BorderLayout.SOUTH);
 
-                document.close();
+            previewDialog.setSize(maxWidth + (thumbnails.size() > 1 ? 160 : 40), maxHeight + 80);
+            previewDialog.setLocationRelativeTo(view);
+            if (!firstPreviewReported) {
+                firstPreviewReported = true;
+                // From the click to the dialog on screen, so the number covers only the preview path
+                previewDialog.addWindowListener(new WindowAdapter() {
+                    @Override
+                    public void windowOpened(WindowEvent e) {
+                        long millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - clickNanos);
+                        System.err.println("Time to first preview: " + millis + " ms from click to visible dialog");
+                    }
+                });
             }
+            previewDialog.setVisible(true);
         } catch (Exception ex) {
             JOptionPane.showMessageDialog(view, "Error generating preview: " + ex.getMessage());
             ex.printStackTrace();
+        } finally {
+            // The dialog is modal, so it has been closed by now; its tiles and thumbnails go back to the pool
+            // and the workers' documents are closed
+            if (tileRenderer != null) {
+                tileRenderer.close();
+            }
+            for (BufferedImage thumbnail : thumbnails) {
+                previewBuffers.release(thumbnail);
+            }
         }
     }
 
+    // Only the built-in names until the generator exists, so building the frame doesn't wait for it
+    public List<String> getTemplateNames() {
+        PdfGenerator generator = pdfGenerator;
+        return generator != null ? generator.getTemplateNames() : PdfGenerator.getBuiltInTemplateNames();
+    }
+
+    public String handleChooseTemplate(String currentTemplate) {
+        model = view.getData();
+        ResumeData snapshot = model;
+        TemplateChooserDialog chooser = new TemplateChooserDialog(view, getTemplateNames(), currentTemplate);
+
+        new SwingWorker<Map<String, BufferedImage>, Void>() {
+            @Override
+            protected Map<String, BufferedImage> doInBackground() throws Exception {
+                return thumbnailCache().getThumbnails(snapshot);
+            }
+
+            @Override
+            protected void done() {
+                try {
+                    chooser.setThumbnails(get());
+                } catch (Exception ex) {
+                    chooser.showError("Error rendering templates: " + ex.getMessage());
+                    ex.printStackTrace();
+                }
+            }
+        }.execute();
+
+        chooser.setVisible(true);
+        return chooser.getSelectedTemplate();
+    }
+
     public void handleGenerate(String template) {
         model = view.getData();
-        pdfGenerator.generatePDF(view, model, template);
+        pdfGenerator().generatePDF(view, model, template);
     }
 }
\ No newline at end of file
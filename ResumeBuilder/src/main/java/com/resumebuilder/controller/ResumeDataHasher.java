@@ -0,0 +1,61 @@
+package com.resumebuilder.controller;
+
+import com.resumebuilder.model.Education;
+import com.resumebuilder.model.ResumeData;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+public class ResumeDataHasher {
+
+    // SHA-256 over every field, each length-prefixed so ("ab", "c") and ("a", "bc") differ
+    public static byte[] digest(ResumeData data) {
+        MessageDigest digest = newDigest();
+        for (String field : data.getPersonalInformation().getFields()) {
+            update(digest, field);
+        }
+        for (String field : data.getContactInformation().getFields()) {
+            update(digest, field);
+        }
+        update(digest, data.getObjective().getText());
+        update(digest, data.getWorkExperience().getText());
+        update(digest, data.getSkills().getText());
+        Education education = data.getEducation();
+        update(digest, education.getCollegeName());
+        update(digest, education.getProgram());
+        update(digest, education.getCollegeYear());
+        update(digest, education.getShsName());
+        update(digest, education.getStrand());
+        update(digest, education.getShsYear());
+        update(digest, education.getJhsName());
+        update(digest, education.getJhsYear());
+        return digest.digest();
+    }
+
+    public static String digestHex(ResumeData data) {
+        return toHex(digest(data));
+    }
+
+    public static String toHex(byte[] bytes) {
+        StringBuilder hex = new StringBuilder(bytes.length * 2);
+        for (byte b : bytes) {
+            hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+        return hex.toString();
+    }
+
+    static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static void update(MessageDigest digest, String value) {
+        byte[] bytes = (value == null ? "" : value).getBytes(StandardCharsets.UTF_8);
+        int length = bytes.length;
+        digest.update(new byte[] {(byte) (length >>> 24), (byte) (length >>> 16), (byte) (length >>> 8), (byte) length});
+        digest.update(bytes);
+    }
+}
@@ -0,0 +1,129 @@
+package com.resumebuilder.controller;
+
+import com.resumebuilder.model.Education;
+import com.resumebuilder.model.ResumeData;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+// Stable keys for every editable field, e.g. "personal.0", "contact.1", "skills", "education.collegeName"
+public class ResumeFields {
+
+    public static Map<String, String> toMap(ResumeData data) {
+        Map<String, String> fields = new LinkedHashMap<>();
+        List<String> personal = data.getPersonalInformation().getFields();
+        for (int i = 0; i < personal.size(); i++) {
+            fields.put("personal." + i, personal.get(i));
+        }
+        List<String> contact = data.getContactInformation().getFields();
+        for (int i = 0; i < contact.size(); i++) {
+            fields.put("contact." + i, contact.get(i));
+        }
+        fields.put("objective", data.getObjective().getText());
+        fields.put("workExperience", data.getWorkExperience().getText());
+        fields.put("skills", data.getSkills().getText());
+        Education education = data.getEducation();
+        fields.put("education.collegeName", education.getCollegeName());
+        fields.put("education.program", education.getProgram());
+        fields.put("education.collegeYear", education.getCollegeYear());
+        fields.put("education.shsName", education.getShsName());
+        fields.put("education.strand", education.getStrand());
+        fields.put("education.shsYear", education.getShsYear());
+        fields.put("education.jhsName", education.getJhsName());
+        fields.put("education.jhsYear", education.getJhsYear());
+        return fields;
+    }
+
+    // Resolves a key to a getter once, for callers that read the same field from many records
+    public static Function<ResumeData, String> accessor(String key) {
+        if (key.startsWith("personal.")) {
+            int index = parseIndex(key, "personal.", data -> data.getPersonalInformation().getFields().size());
+            return data -> data.getPersonalInformation().getFields().get(index);
+        } else if (key.startsWith("contact.")) {
+            int index = parseIndex(key, "contact.", data -> data.getContactInformation().getFields().size());
+            return data -> data.getContactInformation().getFields().get(index);
+        }
+        switch (key) {
+            case "objective": return data -> data.getObjective().getText();
+            case "workExperience": return data -> data.getWorkExperience().getText();
+            case "skills": return data -> data.getSkills().getText();
+            case "education.collegeName": return data -> data.getEducation().getCollegeName();
+            case "education.program": return data -> data.getEducation().getProgram();
+            case "education.collegeYear": return data -> data.getEducation().getCollegeYear();
+            case "education.shsName": return data -> data.getEducation().getShsName();
+            case "education.strand": return data -> data.getEducation().getStrand();
+            case "education.shsYear": return data -> data.getEducation().getShsYear();
+            case "education.jhsName": return data -> data.getEducation().getJhsName();
+            case "education.jhsYear": return data -> data.getEducation().getJhsYear();
+            default: throw new IllegalArgumentException("Unknown field: " + key);
+        }
+    }
+
+    // A field as a list of lines: the entries of list sections, any other field split on newlines
+    public static Function<ResumeData, List<String>> linesAccessor(String key) {
+        switch (key) {
+            case "workExperience": return data -> data.getWorkExperience().getEntries();
+            case "skills": return data -> data.getSkills().getEntries();
+            default:
+                Function<ResumeData, String> text = accessor(key);
+                return data -> Arrays.asList(text.apply(data).split("\n"));
+        }
+    }
+
+    // Unknown keys are ignored so journals written by other versions still load
+    public static void apply(ResumeData data, String key, String value) {
+        if (key.startsWith("personal.")) {
+            setIndexed(data.getPersonalInformation().getFields(), key.substring("personal.".length()), value);
+        } else if (key.startsWith("contact.")) {
+            setIndexed(data.getContactInformation().getFields(), key.substring("contact.".length()), value);
+        } else {
+            Education education = data.getEducation();
+            switch (key) {
+                case "objective": data.getObjective().setText(value); break;
+                case "workExperience": data.getWorkExperience().setText(value); break;
+                case "skills": data.getSkills().setText(value); break;
+                case "education.collegeName": education.setCollegeName(value); break;
+                case "education.program": education.setProgram(value); break;
+                case "education.collegeYear": education.setCollegeYear(value); break;
+                case "education.shsName": education.setShsName(value); break;
+                case "education.strand": education.setStrand(value); break;
+                case "education.shsYear": education.setShsYear(value); break;
+                case "education.jhsName": education.setJhsName(value); break;
+                case "education.jhsYear": education.setJhsYear(value); break;
+                default: break;
+            }
+        }
+    }
+
+    public static void applyAll(ResumeData data, Map<String, String> fields) {
+        for (Map.Entry<String, String> entry : fields.entrySet()) {
+            apply(data, entry.getKey(), entry.getValue());
+        }
+    }
+
+    private static int parseIndex(String key, String prefix, Function<ResumeData, Integer> size) {
+        int index;
+        try {
+            index = Integer.parseInt(key.substring(prefix.length()));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Unknown field: " + key);
+        }
+        if (index < 0 || index >= size.apply(new ResumeData())) {
+            throw new IllegalArgumentException("Unknown field: " + key);
+        }
+        return index;
+    }
+
+    private static void setIndexed(List<String> fields, String index, String value) {
+        try {
+            int i = Integer.parseInt(index);
+            if (i >= 0 && i < fields.size()) {
+                fields.set(i, value);
+            }
+        } catch (NumberFormatException e) {
+            // Ignore malformed keys
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.resumebuilder.controller;
+
+import com.resumebuilder.model.Education;
+import com.resumebuilder.model.ResumeData;
+import java.util.List;
+import java.util.Map;
+
+// One input record for batch runs: an id plus the ResumeData parsed from a JSON object like
+// {"id": "...", "personalInformation": [...], "contactInformation": [...], "objective": "...",
+//  "workExperience": "...", "skills": "...", "education": {"collegeName": "...", ...}, "photo": "..."}
+// where the optional photo is an image path, relative to the input file.
+public class ResumeRecord {
+    private final String id;
+    private final ResumeData data;
+    private final String photo;
+
+    public ResumeRecord(String id, ResumeData data) {
+        this(id, data, null);
+    }
+
+    public ResumeRecord(String id, ResumeData data, String photo) {
+        this.id = id;
+        this.data = data;
+        this.photo = photo;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public ResumeData getData() {
+        return data;
+    }
+
+    // The photo path as written in the record, or null
+    public String getPhoto() {
+        return photo;
+    }
+
+    public static ResumeRecord fromJson(String json, String defaultId) {
+        Map<String, Object> object = JsonReader.parseObject(json);
+        ResumeData data = new ResumeData();
+        copyList(object.get("personalInformation"), data.getPersonalInformation().getFields());
+        copyList(object.get("contactInformation"), data.getContactInformation().getFields());
+        data.getObjective().setText(string(object.get("objective")));
+        // Sections may be one newline-separated string or an array of entries
+        if (object.get("workExperience") instanceof List) {
+            copyEntries(object.get("workExperience"), data.getWorkExperience().getEntries());
+        } else {
+            data.getWorkExperience().setText(string(object.get("workExperience")));
+        }
+        if (object.get("skills") instanceof List) {
+            copyEntries(object.get("skills"), data.getSkills().getEntries());
+        } else {
+            data.getSkills().setText(string(object.get("skills")));
+        }
+
+        if (object.get("education") instanceof Map) {
+            Map<?, ?> educationObject = (Map<?, ?>) object.get("education");
+            Education education = data.getEducation();
+            education.setCollegeName(string(educationObject.get("collegeName")));
+            education.setProgram(string(educationObject.get("program")));
+            education.setCollegeYear(string(educationObject.get("collegeYear")));
+            education.setShsName(string(educationObject.get("shsName")));
+            education.setStrand(string(educationObject.get("strand")));
+            education.setShsYear(string(educationObject.get("shsYear")));
+            education.setJhsName(string(educationObject.get("jhsName")));
+            education.setJhsYear(string(educationObject.get("jhsYear")));
+        }
+
+        Object id = object.get("id");
+        String photo = string(object.get("photo"));
+        return new ResumeRecord(id == null ? defaultId : string(id), data, photo.isEmpty() ? null : photo);
+    }
+
+    private static void copyList(Object value, List<String> target) {
+        if (!(value instanceof List)) return;
+        List<?> values = (List<?>) value;
+        for (int i = 0; i < values.size() && i < target.size(); i++) {
+            target.set(i, string(values.get(i)));
+        }
+    }
+
+    private static void copyEntries(Object value, List<String> target) {
+        for (Object entry : (List<?>) value) {
+            target.add(string(entry));
+        }
+    }
+
+    private static String string(Object value) {
+        if (value == null) return "";
+        if (value instanceof Double && ((Double) value) == Math.rint((Double) value)) {
+            return String.valueOf(((Double) value).longValue());
+        }
+        return value.toString();
+    }
+}
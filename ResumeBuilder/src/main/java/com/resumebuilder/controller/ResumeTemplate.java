@@ -6,7 +6,15 @@ import org.apache.pdfbox.pdmodel.PDPageContentStream;
 import java.awt.image.BufferedImage;
 
 public interface ResumeTemplate {
-    void generate(PDPageContentStream contentStream, ResumeData data, PDDocument document, BufferedImage image) throws Exception;
+    // Lays the resume out on one A4 page; the same calls produce the exported PDF and the direct preview
+    void draw(PageCanvas canvas, ResumeData data, BufferedImage image) throws Exception;
+
+    default void generate(PDPageContentStream contentStream, ResumeData data, PDDocument document, BufferedImage image) throws Exception {
+        draw(new PdfPageCanvas(document, contentStream), data, image);
+    }
+
     boolean supportsImage();
     String getName();
+    // Bumped whenever the layout changes so incremental batch builds re-render existing outputs
+    String getVersion();
 }
\ No newline at end of file
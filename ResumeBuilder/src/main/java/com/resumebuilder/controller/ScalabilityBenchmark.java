@@ -0,0 +1,298 @@
+package com.resumebuilder.controller;
+
+import com.resumebuilder.model.ResumeData;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadInfo;
+import java.lang.management.ThreadMXBean;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Properties;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Stress and scaling harness: renders a fixed corpus through every template on 1..N threads,
+// checks each output is byte-identical to the single-threaded render and reports how throughput scales
+public class ScalabilityBenchmark {
+    private static final int BAR_WIDTH = 40;
+
+    public static class Options {
+        int maxThreads = Runtime.getRuntime().availableProcessors();
+        int records = 48;
+        int rounds = 3;
+        double minEfficiency = 0.5;
+        double tolerance = 0.1;
+        OutputProfile profile = OutputProfile.DEFAULT;
+        Path baseline;
+
+        public static Options parse(String[] args) {
+            Options options = new Options();
+            for (int i = 0; i < args.length; i++) {
+                String arg = args[i];
+                if ("--bench-scaling".equals(arg)) continue;
+                if (i + 1 >= args.length) {
+                    throw new IllegalArgumentException("Missing value for " + arg);
+                }
+                switch (arg) {
+                    case "--threads": options.maxThreads = Integer.parseInt(args[++i]); break;
+                    case "--records": options.records = Integer.parseInt(args[++i]); break;
+                    case "--rounds": options.rounds = Integer.parseInt(args[++i]); break;
+                    case "--min-efficiency": options.minEfficiency = Double.parseDouble(args[++i]); break;
+                    case "--tolerance": options.tolerance = Double.parseDouble(args[++i]); break;
+                    case "--profile": options.profile = OutputProfile.fromName(args[++i]); break;
+                    case "--baseline": options.baseline = Paths.get(args[++i]); break;
+                    default: throw new IllegalArgumentException("Unknown option: " + arg);
+                }
+            }
+            if (options.maxThreads < 1 || options.records < 1 || options.rounds < 1) {
+                throw new IllegalArgumentException("--threads, --records and --rounds must be at least 1");
+            }
+            return options;
+        }
+    }
+
+    private static class Job {
+        final int index;
+        final ResumeData data;
+        final String templateName;
+
+        Job(int index, ResumeData data, String templateName) {
+            this.index = index;
+            this.data = data;
+            this.templateName = templateName;
+        }
+    }
+
+    private static class Result {
+        final int threads;
+        final double throughput;
+        final double blockedMillis;
+        final int mismatches;
+        final int errors;
+        double efficiency;
+
+        Result(int threads, double throughput, double blockedMillis, int mismatches, int errors) {
+            this.threads = threads;
+            this.throughput = throughput;
+            this.blockedMillis = blockedMillis;
+            this.mismatches = mismatches;
+            this.errors = errors;
+        }
+    }
+
+    private final PdfGenerator pdfGenerator;
+    private final Options options;
+    private final ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+
+    public ScalabilityBenchmark(PdfGenerator pdfGenerator, Options options) {
+        this.pdfGenerator = pdfGenerator;
+        this.options = options;
+    }
+
+    public static boolean isBenchmarkInvocation(String[] args) {
+        for (String arg : args) {
+            if ("--bench-scaling".equals(arg)) return true;
+        }
+        return false;
+    }
+
+    public int run() throws Exception {
+        List<Job> jobs = new ArrayList<>();
+        List<ResumeData> corpus = syntheticCorpus(options.records);
+        for (ResumeData data : corpus) {
+            for (String templateName : pdfGenerator.getTemplateNames()) {
+                jobs.add(new Job(jobs.size(), data, templateName));
+            }
+        }
+
+        // Reference output from the calling thread; the first pass also warms up class loading and the JIT
+        byte[][] expected = new byte[jobs.size()][];
+        for (Job job : jobs) {
+            expected[job.index] = pdfGenerator.render(job.data, job.templateName, null, options.profile).getBytes();
+        }
+        for (Job job : jobs) {
+            if (!Arrays.equals(expected[job.index], pdfGenerator.render(job.data, job.templateName, null, options.profile).getBytes())) {
+                System.out.println("Output is not deterministic even on one thread (" + job.templateName + ", record " + job.index + ")");
+                return 1;
+            }
+        }
+
+        if (threadBean.isThreadContentionMonitoringSupported()) {
+            threadBean.setThreadContentionMonitoringEnabled(true);
+        }
+        List<Result> results = new ArrayList<>();
+        for (int threads : threadCounts(options.maxThreads)) {
+            results.add(measure(jobs, expected, threads));
+        }
+        double singleThroughput = results.get(0).throughput;
+        for (Result result : results) {
+            result.efficiency = singleThroughput > 0 ? result.throughput / (result.threads * singleThroughput) : 0;
+        }
+
+        printReport(jobs.size(), results);
+        return check(results) ? 0 : 1;
+    }
+
+    private Result measure(List<Job> jobs, byte[][] expected, int threads) throws Exception {
+        List<Thread> workers = new ArrayList<>();
+        AtomicInteger counter = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "scaling-bench-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            synchronized (workers) {
+                workers.add(thread);
+            }
+            return thread;
+        });
+        AtomicInteger mismatches = new AtomicInteger();
+        AtomicInteger errors = new AtomicInteger();
+        long bestNanos = Long.MAX_VALUE;
+        try {
+            for (int round = 0; round < options.rounds; round++) {
+                long start = System.nanoTime();
+                List<Future<?>> futures = new ArrayList<>();
+                for (Job job : jobs) {
+                    futures.add(executor.submit(() -> {
+                        try {
+                            byte[] actual = pdfGenerator.render(job.data, job.templateName, null, options.profile).getBytes();
+                            if (!Arrays.equals(expected[job.index], actual)) {
+                                mismatches.incrementAndGet();
+                            }
+                        } catch (Exception ex) {
+                            errors.incrementAndGet();
+                        }
+                    }));
+                }
+                for (Future<?> future : futures) {
+                    future.get();
+                }
+                bestNanos = Math.min(bestNanos, System.nanoTime() - start);
+            }
+            return new Result(threads, jobs.size() / (bestNanos / 1_000_000_000.0), blockedMillis(workers), mismatches.get(), errors.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    // Time the workers spent waiting to enter a monitor, i.e. contention on synchronized shared state
+    // such as font caches; waits on the executor's own queue are parks and don't count here
+    private double blockedMillis(List<Thread> workers) {
+        if (!threadBean.isThreadContentionMonitoringEnabled()) {
+            return -1;
+        }
+        long total = 0;
+        synchronized (workers) {
+            for (Thread worker : workers) {
+                ThreadInfo info = threadBean.getThreadInfo(worker.getId());
+                if (info != null && info.getBlockedTime() > 0) {
+                    total += info.getBlockedTime();
+                }
+            }
+        }
+        return total;
+    }
+
+    private boolean check(List<Result> results) throws IOException {
+        boolean passed = true;
+        for (Result result : results) {
+            if (result.mismatches > 0 || result.errors > 0) {
+                System.out.printf("FAIL: %d threads produced %d mismatched and %d failed renders%n", result.threads, result.mismatches, result.errors);
+                passed = false;
+            }
+        }
+        Result widest = results.get(results.size() - 1);
+        if (widest.efficiency < options.minEfficiency) {
+            System.out.printf("FAIL: scaling efficiency at %d threads is %.2f, below %.2f%n", widest.threads, widest.efficiency, options.minEfficiency);
+            passed = false;
+        }
+
+        if (options.baseline == null) {
+            return passed;
+        }
+        if (!Files.exists(options.baseline)) {
+            Properties recorded = new Properties();
+            for (Result result : results) {
+                recorded.setProperty(Integer.toString(result.threads), String.format("%.4f", result.efficiency));
+            }
+            try (Writer writer = Files.newBufferedWriter(options.baseline, StandardCharsets.UTF_8)) {
+                recorded.store(writer, "Scaling efficiency per thread count");
+            }
+            System.out.println("Recorded baseline in " + options.baseline);
+            return passed;
+        }
+        Properties recorded = new Properties();
+        try (Reader reader = Files.newBufferedReader(options.baseline, StandardCharsets.UTF_8)) {
+            recorded.load(reader);
+        }
+        for (Result result : results) {
+            String value = recorded.getProperty(Integer.toString(result.threads));
+            if (value != null && result.efficiency < Double.parseDouble(value) - options.tolerance) {
+                System.out.printf("FAIL: efficiency at %d threads regressed from %s to %.2f%n", result.threads, value, result.efficiency);
+                passed = false;
+            }
+        }
+        return passed;
+    }
+
+    private void printReport(int jobCount, List<Result> results) {
+        System.out.printf("Corpus: %d renders per round (%d records x %d templates), profile %s, best of %d rounds%n",
+                jobCount, options.records, pdfGenerator.getTemplateNames().size(), options.profile, options.rounds);
+        System.out.println("threads  docs/sec  speedup  efficiency  blocked ms  mismatches");
+        double best = 0;
+        for (Result result : results) {
+            best = Math.max(best, result.throughput);
+        }
+        double single = results.get(0).throughput;
+        for (Result result : results) {
+            int bar = best > 0 ? (int) Math.round(result.throughput / best * BAR_WIDTH) : 0;
+            System.out.printf("%7d  %8.1f  %7.2f  %10.2f  %10.0f  %10d  %s%n", result.threads, result.throughput,
+                    single > 0 ? result.throughput / single : 0, result.efficiency, result.blockedMillis,
+                    result.mismatches + result.errors, "#".repeat(bar));
+        }
+    }
+
+    // 1, 2, 4, ... up to and always including the maximum
+    private static List<Integer> threadCounts(int maxThreads) {
+        List<Integer> counts = new ArrayList<>();
+        for (int threads = 1; threads < maxThreads; threads *= 2) {
+            counts.add(threads);
+        }
+        counts.add(maxThreads);
+        return counts;
+    }
+
+    // Deterministic corpus of varying length, so pages range from sparse to densely filled. Every template
+    // lays out a single page and whatever runs past the bottom falls off it, so there are no overflow pages.
+    static List<ResumeData> syntheticCorpus(int count) {
+        Random random = new Random(42);
+        List<ResumeData> corpus = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            ResumeData data = PdfWarmup.sampleData();
+            data.getPersonalInformation().getFields().set(0, "Candidate " + (i + 1));
+            List<String> work = new ArrayList<>();
+            int jobs = 1 + random.nextInt(1 + i % 12);
+            for (int j = 0; j < jobs; j++) {
+                work.add("Role " + (j + 1) + ", Company " + random.nextInt(1000) + " (" + (2000 + j) + "-" + (2001 + j) + "). "
+                        + "Maintained reporting pipelines, reviewed pull requests and mentored new hires across teams.".repeat(1 + random.nextInt(3)));
+            }
+            data.getWorkExperience().setEntries(work);
+            List<String> skills = new ArrayList<>();
+            for (int j = 0, n = 3 + random.nextInt(10); j < n; j++) {
+                skills.add("Skill " + random.nextInt(500));
+            }
+            data.getSkills().setEntries(skills);
+            corpus.add(data);
+        }
+        return corpus;
+    }
+}
@@ -0,0 +1,188 @@
+package com.resumebuilder.controller;
+
+import com.resumebuilder.Main;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+// End-to-end check of sharded batch mode on one machine: starts several worker JVMs on the same input and lease
+// directory, kills one with SIGKILL while it holds a chunk, and checks that the others reclaim its work so that
+// every chunk is marked done and every record has its output.
+public class ShardedBatchCheck {
+
+    public static class Options {
+        int workers = 3;
+        int records = 400;
+        int chunkSize = 20;
+        double leaseSeconds = 2;
+        int threads = 2;
+        boolean kill = true;
+        String template = "Default";
+        Path workDir;
+
+        public static Options parse(String[] args) {
+            Options options = new Options();
+            for (int i = 0; i < args.length; i++) {
+                String arg = args[i];
+                if ("--check-sharding".equals(arg)) continue;
+                if (i + 1 >= args.length) {
+                    throw new IllegalArgumentException("Missing value for " + arg);
+                }
+                switch (arg) {
+                    case "--workers": options.workers = Integer.parseInt(args[++i]); break;
+                    case "--records": options.records = Integer.parseInt(args[++i]); break;
+                    case "--chunk-size": options.chunkSize = Integer.parseInt(args[++i]); break;
+                    case "--lease-seconds": options.leaseSeconds = Double.parseDouble(args[++i]); break;
+                    case "--threads": options.threads = Integer.parseInt(args[++i]); break;
+                    case "--kill": options.kill = Boolean.parseBoolean(args[++i]); break;
+                    case "--template": options.template = args[++i]; break;
+                    case "--work-dir": options.workDir = Paths.get(args[++i]); break;
+                    default: throw new IllegalArgumentException("Unknown option: " + arg);
+                }
+            }
+            if (options.workers < (options.kill ? 2 : 1)) {
+                throw new IllegalArgumentException("--workers must leave at least one worker alive");
+            }
+            return options;
+        }
+    }
+
+    private static final long TIMEOUT_MINUTES = 10;
+
+    private final Options options;
+
+    public ShardedBatchCheck(Options options) {
+        this.options = options;
+    }
+
+    public static boolean isCheckInvocation(String[] args) {
+        for (String arg : args) {
+            if ("--check-sharding".equals(arg)) return true;
+        }
+        return false;
+    }
+
+    public int run() throws Exception {
+        Path workDir = options.workDir != null ? Files.createDirectories(options.workDir) : Files.createTempDirectory("shard-check");
+        Path input = workDir.resolve("records.jsonl");
+        Path outputDir = workDir.resolve("out");
+        Path leaseDir = workDir.resolve("leases");
+        writeInput(input);
+        System.out.println("Working in " + workDir);
+
+        List<Process> workers = new ArrayList<>();
+        for (int i = 1; i <= options.workers; i++) {
+            workers.add(startWorker("worker-" + i, input, outputDir, leaseDir, workDir.resolve("worker-" + i + ".log")));
+        }
+        if (options.kill) {
+            // Dies holding a lease and without releasing it, as a crashed node would
+            Process victim = workers.get(0);
+            if (awaitLease(leaseDir, "worker-1", victim)) {
+                victim.destroyForcibly().waitFor();
+                System.out.println("Killed worker-1 while it held a chunk");
+            } else {
+                System.out.println("worker-1 exited before it could be killed; nothing to reclaim");
+            }
+        }
+
+        boolean passed = true;
+        for (int i = 0; i < workers.size(); i++) {
+            Process worker = workers.get(i);
+            if (!worker.waitFor(TIMEOUT_MINUTES, TimeUnit.MINUTES)) {
+                worker.destroyForcibly();
+                System.out.println("FAIL: worker-" + (i + 1) + " did not finish in " + TIMEOUT_MINUTES + " minutes");
+                passed = false;
+            } else if (!(options.kill && i == 0) && worker.exitValue() != 0) {
+                System.out.println("FAIL: worker-" + (i + 1) + " exited with " + worker.exitValue());
+                passed = false;
+            }
+        }
+
+        int chunks = (options.records + options.chunkSize - 1) / options.chunkSize;
+        int done = 0;
+        for (int chunk = 0; chunk < chunks; chunk++) {
+            if (Files.exists(leaseDir.resolve(String.format("chunk-%05d.done", chunk)))) done++;
+        }
+        int missing = 0;
+        for (int i = 1; i <= options.records; i++) {
+            if (!Files.exists(outputDir.resolve(BatchRunner.fileNameFor(recordId(i), ".pdf")))) missing++;
+        }
+        int reclaimed = 0;
+        for (int i = 1; i <= options.workers; i++) {
+            try (Stream<String> lines = Files.lines(workDir.resolve("worker-" + i + ".log"))) {
+                reclaimed += (int) lines.filter(line -> line.startsWith("Reclaimed chunk")).count();
+            }
+        }
+        System.out.printf("%d workers, %d of %d chunks done, %d of %d outputs missing, %d chunks reclaimed%n",
+                options.workers, done, chunks, missing, options.records, reclaimed);
+        if (done != chunks || missing > 0) {
+            System.out.println("FAIL: work was lost; see the worker logs in " + workDir);
+            passed = false;
+        }
+        return passed ? 0 : 1;
+    }
+
+    private void writeInput(Path input) throws IOException {
+        StringBuilder records = new StringBuilder();
+        for (int i = 1; i <= options.records; i++) {
+            records.append("{\"id\": \"").append(recordId(i)).append("\", ")
+                    .append("\"personalInformation\": [\"Candidate ").append(i).append("\"], ")
+                    .append("\"objective\": \"Render record ").append(i).append(" exactly once, whichever worker gets it.\", ")
+                    .append("\"workExperience\": [\"Role ").append(i % 7 + 1).append(", Company ").append(i % 13).append("\"], ")
+                    .append("\"skills\": [\"Skill ").append(i % 5).append("\", \"Skill ").append(i % 11).append("\"]}\n");
+        }
+        Files.writeString(input, records, StandardCharsets.UTF_8);
+    }
+
+    // The same classpath and JVM as this process
+    private Process startWorker(String id, Path input, Path outputDir, Path leaseDir, Path log) throws IOException {
+        List<String> command = new ArrayList<>();
+        command.add(Paths.get(System.getProperty("java.home"), "bin", "java").toString());
+        command.add("-cp");
+        command.add(System.getProperty("java.class.path"));
+        command.add(Main.class.getName());
+        command.add("--input"); command.add(input.toString());
+        command.add("--out"); command.add(outputDir.toString());
+        command.add("--template"); command.add(options.template);
+        command.add("--threads"); command.add(String.valueOf(options.threads));
+        command.add("--shard-dir"); command.add(leaseDir.toString());
+        command.add("--chunk-size"); command.add(String.valueOf(options.chunkSize));
+        command.add("--lease-seconds"); command.add(String.valueOf(options.leaseSeconds));
+        command.add("--worker-id"); command.add(id);
+        return new ProcessBuilder(command).redirectErrorStream(true).redirectOutput(log.toFile()).start();
+    }
+
+    // Waits until the worker holds a lease; false if it exits first
+    private static boolean awaitLease(Path leaseDir, String workerId, Process worker) throws Exception {
+        while (worker.isAlive()) {
+            if (Files.isDirectory(leaseDir)) {
+                try (Stream<Path> files = Files.list(leaseDir)) {
+                    for (Path file : (Iterable<Path>) files::iterator) {
+                        if (file.getFileName().toString().endsWith(".lease") && holds(file, workerId)) return true;
+                    }
+                }
+            }
+            Thread.sleep(20);
+        }
+        return false;
+    }
+
+    private static boolean holds(Path lease, String workerId) {
+        try {
+            return Files.readString(lease, StandardCharsets.UTF_8).startsWith(workerId + " ");
+        } catch (IOException ex) {
+            // Released while we looked
+            return false;
+        }
+    }
+
+    private static String recordId(int index) {
+        return String.format("shard-check-%05d", index);
+    }
+}
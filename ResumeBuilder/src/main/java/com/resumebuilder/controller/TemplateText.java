@@ -0,0 +1,60 @@
+package com.resumebuilder.controller;
+
+import org.apache.pdfbox.pdmodel.font.Standard14Fonts;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+
+// Body-text drawing shared by the built-in templates: 10 pt Helvetica at 1.5 line spacing, broken to the column
+// width by the shared LineBreaker. Each method returns the baseline below the last line drawn.
+final class TemplateText {
+    private static final Standard14Fonts.FontName FONT = Standard14Fonts.FontName.HELVETICA;
+    private static final float FONT_SIZE = 10;
+    private static final float BULLET_INDENT = 10;
+
+    private TemplateText() {
+    }
+
+    static float drawWrappedText(PageCanvas canvas, List<String> lines, float x, float y, float maxWidth) throws Exception {
+        LineBreaker breaker = LineBreaker.forStandardFont(FONT, FONT_SIZE);
+        float leading = 1.5f * breaker.getFontSize();
+
+        for (String line : lines) {
+            PreparedText preparedLine = breaker.prepare(line);
+            int[] bounds = breaker.breakLines(preparedLine, maxWidth);
+            for (int i = 0; i < bounds.length; i += 2) {
+                canvas.showText(x, y, preparedLine.substring(bounds[i], bounds[i + 1]));
+                y -= leading;
+            }
+        }
+        return y;
+    }
+
+    static float drawBulletedText(PageCanvas canvas, List<String> lines, float x, float y, float maxWidth) throws Exception {
+        LineBreaker breaker = LineBreaker.forStandardFont(FONT, FONT_SIZE);
+        float leading = 1.5f * breaker.getFontSize();
+
+        for (String line : lines) {
+            if (line.trim().isEmpty()) continue;
+            PreparedText preparedLine = breaker.prepare(line);
+            int[] bounds = breaker.breakLines(preparedLine, maxWidth - BULLET_INDENT);
+            for (int i = 0; i < bounds.length; i += 2) {
+                if (i == 0) {
+                    canvas.showText(x, y, "\u2022 ");
+                }
+                canvas.showText(x + BULLET_INDENT, y, preparedLine.substring(bounds[i], bounds[i + 1]));
+                y -= leading;
+            }
+        }
+        return y;
+    }
+
+    // An empty section still takes one blank line, as it did when sections were a single string
+    static List<String> entriesOrBlank(List<String> entries) {
+        return entries.isEmpty() ? Collections.singletonList("") : entries;
+    }
+
+    static String sanitizeText(String text) throws IOException {
+        return TextPreparer.forStandardFont(FONT).normalize(text);
+    }
+}
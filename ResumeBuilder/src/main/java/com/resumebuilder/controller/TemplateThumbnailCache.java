@@ -0,0 +1,56 @@
+package com.resumebuilder.controller;
+
+import com.resumebuilder.model.ResumeData;
+import java.awt.image.BufferedImage;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Future;
+
+public class TemplateThumbnailCache {
+    private final PdfGenerator pdfGenerator;
+    private final PageRasterizer pageRasterizer;
+    private final RenderScheduler scheduler;
+
+    private String cachedDigest;
+    private Map<String, BufferedImage> cachedThumbnails;
+
+    public TemplateThumbnailCache(PdfGenerator pdfGenerator, PageRasterizer pageRasterizer, RenderScheduler scheduler) {
+        this.pdfGenerator = pdfGenerator;
+        this.pageRasterizer = pageRasterizer;
+        this.scheduler = scheduler;
+    }
+
+    // Renders the first page of the data in every registered template concurrently.
+    // Results are kept until the content digest of the data or the set of template versions changes.
+    public synchronized Map<String, BufferedImage> getThumbnails(ResumeData data) throws Exception {
+        StringBuilder key = new StringBuilder(ResumeDataHasher.digestHex(data));
+        for (String templateName : pdfGenerator.getTemplateNames()) {
+            key.append('|').append(templateName).append('@').append(pdfGenerator.createTemplate(templateName).getVersion());
+        }
+        String digest = key.toString();
+        if (digest.equals(cachedDigest)) {
+            return cachedThumbnails;
+        }
+
+        Map<String, Future<BufferedImage>> futures = new LinkedHashMap<>();
+        for (String templateName : pdfGenerator.getTemplateNames()) {
+            futures.put(templateName, scheduler.submit(RenderScheduler.Priority.NORMAL, () -> {
+                byte[] pdf = pdfGenerator.render(data, templateName, null, OutputProfile.FAST).getBytes();
+                return pageRasterizer.renderPage(pdf, 0, PageRasterizer.THUMBNAIL_DPI);
+            }));
+        }
+
+        Map<String, BufferedImage> thumbnails = new LinkedHashMap<>();
+        for (Map.Entry<String, Future<BufferedImage>> entry : futures.entrySet()) {
+            thumbnails.put(entry.getKey(), entry.getValue().get());
+        }
+        cachedDigest = digest;
+        cachedThumbnails = thumbnails;
+        return thumbnails;
+    }
+
+    public synchronized void invalidate() {
+        cachedDigest = null;
+        cachedThumbnails = null;
+    }
+}
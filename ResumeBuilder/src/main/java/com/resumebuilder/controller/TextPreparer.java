@@ -0,0 +1,128 @@
+package com.resumebuilder.controller;
+
+import org.apache.pdfbox.pdmodel.font.PDFont;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+import org.apache.pdfbox.pdmodel.font.Standard14Fonts;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Normalizes text for one font in a single table-driven pass: control characters become spaces,
+// glyphs the font can't encode become '?', and per-character widths are summed as it goes.
+// The result is guaranteed encodable, so showText never has to fall back per word.
+public class TextPreparer {
+    private static final Map<Standard14Fonts.FontName, TextPreparer> STANDARD_PREPARERS = new ConcurrentHashMap<>();
+
+    // Characters outside Latin-1 that WinAnsiEncoding (used by the Standard 14 fonts) can still encode
+    private static final String WIN_ANSI_EXTRAS = "\u2018\u2019\u201A\u201C\u201D\u201E\u2013\u2014\u2022\u2026\u20AC\u2122"
+            + "\u2020\u2021\u2030\u2039\u203A\u0152\u0153\u0160\u0161\u0178\u017D\u017E\u0192\u02C6\u02DC";
+
+    private final PDFont font;
+    private final char[] latinMap = new char[256];
+    private final float[] latinWidths = new float[256];
+    private final Map<Character, Float> extraWidths = new HashMap<>();
+    private final float fallbackWidth;
+
+    public TextPreparer(PDFont font) throws IOException {
+        this.font = font;
+        this.fallbackWidth = font.getStringWidth("?") / 1000;
+        float spaceWidth = font.getStringWidth(" ") / 1000;
+        for (int c = 0; c < latinMap.length; c++) {
+            if (c < 0x20 || (c >= 0x7F && c < 0xA0)) {
+                latinMap[c] = ' ';
+                latinWidths[c] = spaceWidth;
+                continue;
+            }
+            Float width = widthOf((char) c);
+            latinMap[c] = width == null ? '?' : (char) c;
+            latinWidths[c] = width == null ? fallbackWidth : width;
+        }
+        for (int i = 0; i < WIN_ANSI_EXTRAS.length(); i++) {
+            char c = WIN_ANSI_EXTRAS.charAt(i);
+            Float width = widthOf(c);
+            if (width != null) {
+                extraWidths.put(c, width);
+            }
+        }
+    }
+
+    public static TextPreparer forStandardFont(Standard14Fonts.FontName fontName) throws IOException {
+        TextPreparer preparer = STANDARD_PREPARERS.get(fontName);
+        if (preparer == null) {
+            preparer = new TextPreparer(new PDType1Font(fontName));
+            TextPreparer existing = STANDARD_PREPARERS.putIfAbsent(fontName, preparer);
+            if (existing != null) {
+                preparer = existing;
+            }
+        }
+        return preparer;
+    }
+
+    public PDFont getFont() {
+        return font;
+    }
+
+    // Width of a character that has already been through prepare(), in text space units at size 1
+    public float advance(char c) {
+        if (c < 256) {
+            return latinWidths[c];
+        }
+        Float width = extraWidths.get(c);
+        return width == null ? fallbackWidth : width;
+    }
+
+    // Maps, trims and measures text in one pass; prefix widths are scaled to fontSize
+    public PreparedText prepare(String text, float fontSize) {
+        if (text == null || text.isEmpty()) {
+            return PreparedText.EMPTY;
+        }
+        int length = text.length();
+        char[] chars = new char[length];
+        float[] prefix = new float[length + 1];
+        int count = 0;
+        int trimmedCount = 0;
+        for (int i = 0; i < length; i++) {
+            char c = text.charAt(i);
+            char mapped;
+            float width;
+            if (c < 256) {
+                mapped = latinMap[c];
+                width = latinWidths[c];
+            } else {
+                Float extra = extraWidths.get(c);
+                mapped = extra == null ? '?' : c;
+                width = extra == null ? fallbackWidth : extra;
+                // A surrogate pair is a single unsupported glyph, so it becomes a single '?'
+                if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(text.charAt(i + 1))) {
+                    i++;
+                }
+            }
+            if (mapped == ' ' && count == 0) {
+                continue;
+            }
+            chars[count] = mapped;
+            prefix[count + 1] = prefix[count] + width * fontSize;
+            count++;
+            if (mapped != ' ') {
+                trimmedCount = count;
+            }
+        }
+        if (trimmedCount == 0) {
+            return PreparedText.EMPTY;
+        }
+        return new PreparedText(new String(chars, 0, trimmedCount), prefix);
+    }
+
+    public String normalize(String text) {
+        return prepare(text, 1).getText();
+    }
+
+    private Float widthOf(char c) throws IOException {
+        try {
+            return font.getStringWidth(String.valueOf(c)) / 1000;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
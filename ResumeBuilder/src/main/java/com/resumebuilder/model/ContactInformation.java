@@ -14,6 +14,10 @@ public class ContactInformation {
         }
     }
 
+    public ContactInformation(List<String> fields) {
+        this.fields = fields;
+    }
+
     public List<String> getFields() {
         return fields;
     }
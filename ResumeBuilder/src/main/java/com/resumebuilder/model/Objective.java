@@ -7,6 +7,10 @@ public class Objective {
         this.text = "";
     }
 
+    public Objective(String text) {
+        this.text = text;
+    }
+
     public String getText() {
         return text;
     }
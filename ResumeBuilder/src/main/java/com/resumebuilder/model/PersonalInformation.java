@@ -14,6 +14,10 @@ public class PersonalInformation {
         }
     }
 
+    public PersonalInformation(List<String> fields) {
+        this.fields = fields;
+    }
+
     public List<String> getFields() {
         return fields;
     }
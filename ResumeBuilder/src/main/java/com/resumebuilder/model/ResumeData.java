@@ -17,6 +17,17 @@ public class ResumeData {
         this.education = new Education();
     }
 
+    // Takes the sections as they are, e.g. read-only views that must not be replaced by empty defaults
+    public ResumeData(PersonalInformation personalInformation, ContactInformation contactInformation, Objective objective,
+                      WorkExperience workExperience, Skills skills, Education education) {
+        this.personalInformation = personalInformation;
+        this.contactInformation = contactInformation;
+        this.objective = objective;
+        this.workExperience = workExperience;
+        this.skills = skills;
+        this.education = education;
+    }
+
     public PersonalInformation getPersonalInformation() {
         return personalInformation;
     }
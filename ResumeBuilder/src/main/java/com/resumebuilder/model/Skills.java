@@ -1,17 +1,38 @@
 package com.resumebuilder.model;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
 public class Skills {
-    private String text;
+    // One entry per line, so templates and editors can work per entry without re-splitting the text
+    private List<String> entries;
 
     public Skills() {
-        this.text = "";
+        this.entries = new ArrayList<>();
+    }
+
+    public Skills(List<String> entries) {
+        this.entries = entries;
+    }
+
+    public List<String> getEntries() {
+        return entries;
+    }
+
+    public void setEntries(List<String> entries) {
+        this.entries = entries;
     }
 
     public String getText() {
-        return text;
+        return String.join("\n", entries);
     }
 
     public void setText(String text) {
-        this.text = text;
+        if (text == null || text.isEmpty()) {
+            this.entries = new ArrayList<>();
+        } else {
+            this.entries = new ArrayList<>(Arrays.asList(text.split("\n", -1)));
+        }
     }
 }
\ No newline at end of file
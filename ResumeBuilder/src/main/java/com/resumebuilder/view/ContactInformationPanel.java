@@ -3,6 +3,7 @@ package com.resumebuilder.view;
 import com.resumebuilder.model.ContactInformation;
 import javax.swing.*;
 import java.awt.*;
+import java.util.function.BiConsumer;
 
 public class ContactInformationPanel extends JPanel {
     private ContactInformation data;
@@ -44,4 +45,29 @@ public class ContactInformationPanel extends JPanel {
             data.getFields().set(i, fields[i].getText());
         }
     }
+
+    public void refresh() {
+        for (int i = 0; i < fields.length; i++) {
+            fields[i].setText(data.getFields().get(i));
+        }
+    }
+
+    public void addFieldListener(BiConsumer<String, String> listener) {
+        for (int i = 0; i < fields.length; i++) {
+            FieldDocumentListener.attach("contact." + i, fields[i], listener);
+        }
+    }
+
+    // Shows or (with a null error) clears the inline validation error of one field
+    public void setFieldError(String key, String error) {
+        if (!key.startsWith("contact.")) return;
+        try {
+            int i = Integer.parseInt(key.substring("contact.".length()));
+            if (i >= 0 && i < fields.length) {
+                InlineFieldError.show(fields[i], error);
+            }
+        } catch (NumberFormatException e) {
+            // Not one of this panel's fields
+        }
+    }
 }
\ No newline at end of file
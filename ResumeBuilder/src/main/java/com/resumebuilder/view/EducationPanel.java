@@ -3,6 +3,7 @@ package com.resumebuilder.view;
 import com.resumebuilder.model.Education;
 import javax.swing.*;
 import java.awt.*;
+import java.util.function.BiConsumer;
 
 public class EducationPanel extends JPanel {
     private Education data;
@@ -102,4 +103,43 @@ public class EducationPanel extends JPanel {
         data.setJhsName(jhsNameField.getText());
         data.setJhsYear(jhsYearField.getText());
     }
+
+    public void refresh() {
+        collegeNameField.setText(data.getCollegeName());
+        programField.setText(data.getProgram());
+        collegeYearField.setText(data.getCollegeYear());
+        shsNameField.setText(data.getShsName());
+        strandField.setText(data.getStrand());
+        shsYearField.setText(data.getShsYear());
+        jhsNameField.setText(data.getJhsName());
+        jhsYearField.setText(data.getJhsYear());
+    }
+
+    public void addFieldListener(BiConsumer<String, String> listener) {
+        FieldDocumentListener.attach("education.collegeName", collegeNameField, listener);
+        FieldDocumentListener.attach("education.program", programField, listener);
+        FieldDocumentListener.attach("education.collegeYear", collegeYearField, listener);
+        FieldDocumentListener.attach("education.shsName", shsNameField, listener);
+        FieldDocumentListener.attach("education.strand", strandField, listener);
+        FieldDocumentListener.attach("education.shsYear", shsYearField, listener);
+        FieldDocumentListener.attach("education.jhsName", jhsNameField, listener);
+        FieldDocumentListener.attach("education.jhsYear", jhsYearField, listener);
+    }
+
+    // Shows or (with a null error) clears the inline validation error of one field
+    public void setFieldError(String key, String error) {
+        JTextField field;
+        switch (key) {
+            case "education.collegeName": field = collegeNameField; break;
+            case "education.program": field = programField; break;
+            case "education.collegeYear": field = collegeYearField; break;
+            case "education.shsName": field = shsNameField; break;
+            case "education.strand": field = strandField; break;
+            case "education.shsYear": field = shsYearField; break;
+            case "education.jhsName": field = jhsNameField; break;
+            case "education.jhsYear": field = jhsYearField; break;
+            default: return;
+        }
+        InlineFieldError.show(field, error);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,150 @@
+package com.resumebuilder.view;
+
+import javax.swing.*;
+import javax.swing.event.ListDataEvent;
+import javax.swing.event.ListDataListener;
+import javax.swing.text.JTextComponent;
+import java.awt.*;
+import java.util.ArrayList;
+import java.util.List;
+
+// Editor for a section made of many entries. The JList has a fixed cell height, so only the
+// visible rows are laid out and painted no matter how many entries the section holds.
+// A multi-line editor wraps long entries while they are typed; each line of it becomes its own entry.
+public class EntryListEditor extends JPanel {
+    private DefaultListModel<String> listModel;
+    private JList<String> list;
+    private JTextComponent entryField;
+
+    public EntryListEditor(boolean multiLine) {
+        setLayout(new BorderLayout(5, 5));
+
+        listModel = new DefaultListModel<>();
+        list = new JList<>(listModel);
+        list.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+        list.setFixedCellHeight(20);
+        list.setPrototypeCellValue("XXXXXXXXXXXXXXXXXXXXXXXXXXXXXXXXXXX");
+        list.setVisibleRowCount(5);
+        list.addListSelectionListener(e -> {
+            if (!e.getValueIsAdjusting() && list.getSelectedValue() != null) {
+                entryField.setText(list.getSelectedValue());
+            }
+        });
+        add(new JScrollPane(list), BorderLayout.CENTER);
+
+        JPanel inputPanel = new JPanel(new BorderLayout(5, 5));
+        if (multiLine) {
+            JTextArea area = new JTextArea(3, 25);
+            area.setLineWrap(true);
+            area.setWrapStyleWord(true);
+            entryField = area;
+            inputPanel.add(new JScrollPane(area), BorderLayout.CENTER);
+        } else {
+            JTextField field = new JTextField(15);
+            field.addActionListener(e -> addEntry());
+            entryField = field;
+            inputPanel.add(field, BorderLayout.CENTER);
+        }
+
+        JPanel buttonPanel = new JPanel(new FlowLayout(FlowLayout.RIGHT, 5, 0));
+        JButton addButton = new JButton("Add");
+        addButton.addActionListener(e -> addEntry());
+        buttonPanel.add(addButton);
+
+        JButton updateButton = new JButton("Update");
+        updateButton.addActionListener(e -> updateEntry());
+        buttonPanel.add(updateButton);
+
+        JButton removeButton = new JButton("Remove");
+        removeButton.addActionListener(e -> {
+            int index = list.getSelectedIndex();
+            if (index >= 0) {
+                list.clearSelection();
+                entryField.setText("");
+                listModel.remove(index);
+            }
+        });
+        buttonPanel.add(removeButton);
+        inputPanel.add(buttonPanel, BorderLayout.SOUTH);
+
+        add(inputPanel, BorderLayout.SOUTH);
+    }
+
+    // Only the entries already in the list; text still in the field is left to commitPending
+    public List<String> getEntries() {
+        List<String> entries = new ArrayList<>(listModel.size());
+        for (int i = 0; i < listModel.size(); i++) {
+            entries.add(listModel.get(i));
+        }
+        return entries;
+    }
+
+    public void setEntries(List<String> entries) {
+        list.clearSelection();
+        entryField.setText("");
+        listModel.clear();
+        listModel.addAll(entries);
+    }
+
+    // Runs after every add, update or remove
+    public void addChangeListener(Runnable listener) {
+        listModel.addListDataListener(new ListDataListener() {
+            @Override
+            public void intervalAdded(ListDataEvent e) {
+                listener.run();
+            }
+
+            @Override
+            public void intervalRemoved(ListDataEvent e) {
+                listener.run();
+            }
+
+            @Override
+            public void contentsChanged(ListDataEvent e) {
+                listener.run();
+            }
+        });
+    }
+
+    // Adds text typed but not yet added, or applies an edit not yet applied to the selected entry. Called by the
+    // actions that render the resume, so Generate and Preview don't silently drop it.
+    public void commitPending() {
+        int index = list.getSelectedIndex();
+        if (index < 0) {
+            addEntry();
+        } else if (index < listModel.size() && !entryField.getText().equals(listModel.get(index))) {
+            updateEntry();
+        }
+    }
+
+    // All lines go in with one addAll, so change listeners run once per add however many lines were pasted
+    private void addEntry() {
+        List<String> lines = pendingLines();
+        if (lines.isEmpty()) return;
+        entryField.setText("");
+        listModel.addAll(lines);
+        list.ensureIndexIsVisible(listModel.size() - 1);
+    }
+
+    // Replaces the selected entry; extra lines typed into it follow it as new entries
+    private void updateEntry() {
+        int index = list.getSelectedIndex();
+        List<String> lines = pendingLines();
+        if (index < 0 || lines.isEmpty()) return;
+        entryField.setText(lines.get(0));
+        listModel.set(index, lines.get(0));
+        if (lines.size() > 1) {
+            listModel.addAll(index + 1, lines.subList(1, lines.size()));
+        }
+    }
+
+    private List<String> pendingLines() {
+        List<String> lines = new ArrayList<>();
+        for (String line : entryField.getText().split("\n")) {
+            if (!line.trim().isEmpty()) {
+                lines.add(line);
+            }
+        }
+        return lines;
+    }
+}
@@ -0,0 +1,38 @@
+package com.resumebuilder.view;
+
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
+import javax.swing.text.JTextComponent;
+import java.util.function.BiConsumer;
+
+// Reports the field key and current text of a text component on every edit
+public class FieldDocumentListener implements DocumentListener {
+    private final String key;
+    private final JTextComponent component;
+    private final BiConsumer<String, String> listener;
+
+    public FieldDocumentListener(String key, JTextComponent component, BiConsumer<String, String> listener) {
+        this.key = key;
+        this.component = component;
+        this.listener = listener;
+    }
+
+    public static void attach(String key, JTextComponent component, BiConsumer<String, String> listener) {
+        component.getDocument().addDocumentListener(new FieldDocumentListener(key, component, listener));
+    }
+
+    @Override
+    public void insertUpdate(DocumentEvent e) {
+        listener.accept(key, component.getText());
+    }
+
+    @Override
+    public void removeUpdate(DocumentEvent e) {
+        listener.accept(key, component.getText());
+    }
+
+    @Override
+    public void changedUpdate(DocumentEvent e) {
+        // Attribute changes don't alter the text
+    }
+}
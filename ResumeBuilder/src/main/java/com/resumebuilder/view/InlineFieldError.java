@@ -0,0 +1,31 @@
+package com.resumebuilder.view;
+
+import javax.swing.*;
+import javax.swing.border.Border;
+import java.awt.*;
+
+// Marks a field as invalid in place: a red outline, with the message as its tooltip
+public class InlineFieldError {
+    private static final String ORIGINAL_BORDER = "inlineFieldError.border";
+    private static final Color ERROR_COLOR = new Color(0xC62828);
+
+    // error is null to clear the mark
+    public static void show(JComponent field, String error) {
+        boolean marked = field.getClientProperty(ORIGINAL_BORDER) != null;
+        if (error == null) {
+            if (marked) {
+                Border original = (Border) field.getClientProperty(ORIGINAL_BORDER);
+                field.putClientProperty(ORIGINAL_BORDER, null);
+                field.setBorder(original);
+                field.setToolTipText(null);
+            }
+            return;
+        }
+        if (!marked) {
+            Border original = field.getBorder();
+            field.putClientProperty(ORIGINAL_BORDER, original);
+            field.setBorder(BorderFactory.createCompoundBorder(BorderFactory.createLineBorder(ERROR_COLOR, 2), original));
+        }
+        field.setToolTipText(error);
+    }
+}
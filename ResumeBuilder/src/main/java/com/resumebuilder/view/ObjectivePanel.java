@@ -3,6 +3,7 @@ package com.resumebuilder.view;
 import com.resumebuilder.model.Objective;
 import javax.swing.*;
 import java.awt.*;
+import java.util.function.BiConsumer;
 
 public class ObjectivePanel extends JPanel {
     private Objective data;
@@ -37,4 +38,12 @@ public class ObjectivePanel extends JPanel {
     public void updateData() {
         data.setText(textArea.getText());
     }
+
+    public void refresh() {
+        textArea.setText(data.getText());
+    }
+
+    public void addFieldListener(BiConsumer<String, String> listener) {
+        FieldDocumentListener.attach("objective", textArea, listener);
+    }
 }
\ No newline at end of file
@@ -3,6 +3,7 @@ package com.resumebuilder.view;
 import com.resumebuilder.model.PersonalInformation;
 import javax.swing.*;
 import java.awt.*;
+import java.util.function.BiConsumer;
 
 public class PersonalInformationPanel extends JPanel {
     private PersonalInformation data;
@@ -48,4 +49,29 @@ public class PersonalInformationPanel extends JPanel {
             data.getFields().set(i, fields[i].getText());
         }
     }
+
+    public void refresh() {
+        for (int i = 0; i < fields.length; i++) {
+            fields[i].setText(data.getFields().get(i));
+        }
+    }
+
+    public void addFieldListener(BiConsumer<String, String> listener) {
+        for (int i = 0; i < fields.length; i++) {
+            FieldDocumentListener.attach("personal." + i, fields[i], listener);
+        }
+    }
+
+    // Shows or (with a null error) clears the inline validation error of one field
+    public void setFieldError(String key, String error) {
+        if (!key.startsWith("personal.")) return;
+        try {
+            int i = Integer.parseInt(key.substring("personal.".length()));
+            if (i >= 0 && i < fields.length) {
+                InlineFieldError.show(fields[i], error);
+            }
+        } catch (NumberFormatException e) {
+            // Not one of this panel's fields
+        }
+    }
 }
\ No newline at end of file
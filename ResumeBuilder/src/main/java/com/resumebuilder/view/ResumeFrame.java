@@ -1,10 +1,10 @@
 package com.resumebuilder.view;
 
-import com.resumebuilder.controller.InputValidator;
 import com.resumebuilder.controller.ResumeController;
 import com.resumebuilder.model.ResumeData;
 import java.awt.*;
 import java.util.List;
+import java.util.function.BiConsumer;
 import javax.swing.*;
 
 public class ResumeFrame extends JFrame {
@@ -15,6 +15,14 @@ public class ResumeFrame extends JFrame {
     private WorkExperiencePanel workExperiencePanel;
     private SkillsPanel skillsPanel;
     private EducationPanel educationPanel;
+    private JComboBox<String> templateCombo;
+
+    // Replaces the template choices, keeping the current selection
+    public void setTemplateNames(List<String> names) {
+        Object selected = templateCombo.getSelectedItem();
+        templateCombo.setModel(new DefaultComboBoxModel<>(names.toArray(new String[0])));
+        templateCombo.setSelectedItem(selected);
+    }
 
     public ResumeFrame(ResumeController controller) {
         setTitle("Resume Builder");
@@ -106,15 +114,25 @@ public class ResumeFrame extends JFrame {
 
         // Bottom Section: Template Selection and Buttons
         JPanel bottomPanel = new JPanel(new FlowLayout(FlowLayout.CENTER, 10, 10));
-        String[] templateOptions = {"Default", "Two-Column"};
-        JComboBox<String> templateCombo = new JComboBox<>(templateOptions);
+        String[] templateOptions = controller.getTemplateNames().toArray(new String[0]);
+        templateCombo = new JComboBox<>(templateOptions);
         bottomPanel.add(new JLabel("SELECT TEMPLATE:"));
         bottomPanel.add(templateCombo);
 
+        JButton chooseButton = new JButton("Compare Templates...");
+        chooseButton.addActionListener(e -> {
+            String chosen = controller.handleChooseTemplate(templateCombo.getSelectedItem().toString());
+            if (chosen != null) {
+                templateCombo.setSelectedItem(chosen);
+            }
+        });
+        bottomPanel.add(chooseButton);
+
         JButton previewButton = new JButton("Preview");
         previewButton.addActionListener(e -> {
+            commitPendingEntries();
             updateData();
-            List<String> errors = InputValidator.validateResumeData(data);
+            List<String> errors = controller.validate(data);
             if (!errors.isEmpty()) {
                 showValidationErrors(errors);
             } else {
@@ -125,8 +143,9 @@ public class ResumeFrame extends JFrame {
 
         JButton generateButton = new JButton("GENERATE RESUME!");
         generateButton.addActionListener(e -> {
+            commitPendingEntries();
             updateData();
-            List<String> errors = InputValidator.validateResumeData(data);
+            List<String> errors = controller.validate(data);
             if (!errors.isEmpty()) {
                 showValidationErrors(errors);
             } else {
@@ -151,6 +170,38 @@ public class ResumeFrame extends JFrame {
         return data;
     }
 
+    // Pushes the values in the model back into the panels, e.g. after recovering an autosave
+    public void refreshFromData() {
+        personalInfoPanel.refresh();
+        contactInfoPanel.refresh();
+        objectivePanel.refresh();
+        workExperiencePanel.refresh();
+        skillsPanel.refresh();
+        educationPanel.refresh();
+    }
+
+    public void addFieldListener(BiConsumer<String, String> listener) {
+        personalInfoPanel.addFieldListener(listener);
+        contactInfoPanel.addFieldListener(listener);
+        objectivePanel.addFieldListener(listener);
+        workExperiencePanel.addFieldListener(listener);
+        skillsPanel.addFieldListener(listener);
+        educationPanel.addFieldListener(listener);
+    }
+
+    // Shows or (with a null error) clears the inline validation error of the field with this key
+    public void setFieldError(String key, String error) {
+        personalInfoPanel.setFieldError(key, error);
+        contactInfoPanel.setFieldError(key, error);
+        educationPanel.setFieldError(key, error);
+    }
+
+    // Entries typed into a list editor but not yet added; only the actions that render the resume commit them
+    private void commitPendingEntries() {
+        workExperiencePanel.commitPending();
+        skillsPanel.commitPending();
+    }
+
     private void updateData() {
         personalInfoPanel.updateData();
         contactInfoPanel.updateData();
@@ -3,10 +3,11 @@ package com.resumebuilder.view;
 import com.resumebuilder.model.Skills;
 import javax.swing.*;
 import java.awt.*;
+import java.util.function.BiConsumer;
 
 public class SkillsPanel extends JPanel {
     private Skills data;
-    private JTextArea textArea;
+    private EntryListEditor editor;
 
     public SkillsPanel(Skills data) {
         this.data = data;
@@ -27,14 +28,23 @@ public class SkillsPanel extends JPanel {
         gbc.gridy = 1;
         gbc.gridwidth = 2;
         gbc.fill = GridBagConstraints.BOTH;
-        textArea = new JTextArea(5, 25);
-        textArea.setLineWrap(true);
-        textArea.setWrapStyleWord(true);
-        JScrollPane scrollPane = new JScrollPane(textArea);
-        add(scrollPane, gbc);
+        editor = new EntryListEditor(false);
+        add(editor, gbc);
+    }
+
+    public void commitPending() {
+        editor.commitPending();
     }
 
     public void updateData() {
-        data.setText(textArea.getText());
+        data.setEntries(editor.getEntries());
+    }
+
+    public void refresh() {
+        editor.setEntries(data.getEntries());
+    }
+
+    public void addFieldListener(BiConsumer<String, String> listener) {
+        editor.addChangeListener(() -> listener.accept("skills", String.join("\n", editor.getEntries())));
     }
 }
\ No newline at end of file
@@ -0,0 +1,70 @@
+package com.resumebuilder.view;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+public class TemplateChooserDialog extends JDialog {
+    private Map<String, JToggleButton> buttons;
+    private JLabel statusLabel;
+    private String selectedTemplate;
+
+    public TemplateChooserDialog(Frame owner, List<String> templateNames, String currentTemplate) {
+        super(owner, "Choose Template", true);
+        setDefaultCloseOperation(JDialog.DISPOSE_ON_CLOSE);
+        setLayout(new BorderLayout());
+
+        JPanel templatesPanel = new JPanel(new FlowLayout(FlowLayout.CENTER, 10, 10));
+        ButtonGroup group = new ButtonGroup();
+        buttons = new LinkedHashMap<>();
+        for (String templateName : templateNames) {
+            JToggleButton button = new JToggleButton(templateName);
+            button.setVerticalTextPosition(SwingConstants.BOTTOM);
+            button.setHorizontalTextPosition(SwingConstants.CENTER);
+            button.setPreferredSize(new Dimension(220, 320));
+            button.setSelected(templateName.equals(currentTemplate));
+            // One click picks the template and closes the chooser
+            button.addActionListener(e -> {
+                selectedTemplate = templateName;
+                dispose();
+            });
+            group.add(button);
+            buttons.put(templateName, button);
+            templatesPanel.add(button);
+        }
+        add(new JScrollPane(templatesPanel), BorderLayout.CENTER);
+
+        statusLabel = new JLabel("Rendering templates...", SwingConstants.CENTER);
+        add(statusLabel, BorderLayout.NORTH);
+
+        JButton cancelButton = new JButton("Cancel");
+        cancelButton.addActionListener(e -> dispose());
+        add(cancelButton, BorderLayout.SOUTH);
+
+        setSize(Math.min(1000, templateNames.size() * 240 + 40), 440);
+        setLocationRelativeTo(owner);
+    }
+
+    public void setThumbnails(Map<String, BufferedImage> thumbnails) {
+        for (Map.Entry<String, BufferedImage> entry : thumbnails.entrySet()) {
+            JToggleButton button = buttons.get(entry.getKey());
+            if (button != null) {
+                BufferedImage thumbnail = entry.getValue();
+                double scale = Math.min(200.0 / thumbnail.getWidth(), 280.0 / thumbnail.getHeight());
+                button.setIcon(new ImageIcon(thumbnail.getScaledInstance((int) (thumbnail.getWidth() * scale), (int) (thumbnail.getHeight() * scale), Image.SCALE_SMOOTH)));
+            }
+        }
+        statusLabel.setText("Click a template to use it");
+    }
+
+    public void showError(String message) {
+        statusLabel.setText(message);
+    }
+
+    public String getSelectedTemplate() {
+        return selectedTemplate;
+    }
+}
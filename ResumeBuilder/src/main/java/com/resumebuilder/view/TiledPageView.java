@@ -0,0 +1,156 @@
+package com.resumebuilder.view;
+
+import com.resumebuilder.controller.PreviewTileRenderer;
+import javax.swing.*;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.List;
+
+// Zoomable stack of preview pages painted from tiles; missing tiles show the upscaled thumbnail until they arrive
+public class TiledPageView extends JComponent {
+    public static final int[] ZOOM_LEVELS = {25, 50, 75, 100, 125, 150, 200, 300, 400};
+    private static final int GAP = 10;
+    // Time a paint may spend rendering missing tiles itself before leaving the rest to the workers
+    private static final long FRAME_BUDGET_NANOS = 12_000_000L;
+
+    private final PreviewTileRenderer renderer;
+    private final List<BufferedImage> thumbnails;
+    private int zoomPercent = 100;
+
+    public TiledPageView(PreviewTileRenderer renderer, List<BufferedImage> thumbnails) {
+        this.renderer = renderer;
+        this.thumbnails = thumbnails;
+        renderer.setZoom(zoomPercent);
+        setBackground(Color.GRAY);
+        setOpaque(true);
+        // Ctrl + mouse wheel zooms; plain wheel events go on to the scroll pane
+        addMouseWheelListener(e -> {
+            if (e.isControlDown()) {
+                if (e.getWheelRotation() < 0) zoomIn(); else zoomOut();
+            } else {
+                getParent().dispatchEvent(SwingUtilities.convertMouseEvent(this, e, getParent()));
+            }
+        });
+    }
+
+    public int getZoom() {
+        return zoomPercent;
+    }
+
+    // Keeps the point at the middle of the viewport in place while the zoom changes
+    public void setZoom(int percent) {
+        int oldZoom = zoomPercent;
+        if (percent == oldZoom) return;
+        Rectangle visible = getVisibleRect();
+        double centerX = visible.getCenterX() / Math.max(1, getPreferredSize().width);
+        double centerY = visible.getCenterY() / Math.max(1, getPreferredSize().height);
+
+        zoomPercent = percent;
+        renderer.setZoom(percent);
+        revalidate();
+        repaint();
+        firePropertyChange("zoom", oldZoom, percent);
+
+        Dimension size = getPreferredSize();
+        SwingUtilities.invokeLater(() -> scrollRectToVisible(new Rectangle(
+                (int) (centerX * size.width - visible.width / 2.0), (int) (centerY * size.height - visible.height / 2.0),
+                visible.width, visible.height)));
+    }
+
+    public void zoomIn() {
+        for (int level : ZOOM_LEVELS) {
+            if (level > zoomPercent) {
+                setZoom(level);
+                return;
+            }
+        }
+    }
+
+    public void zoomOut() {
+        for (int i = ZOOM_LEVELS.length - 1; i >= 0; i--) {
+            if (ZOOM_LEVELS[i] < zoomPercent) {
+                setZoom(ZOOM_LEVELS[i]);
+                return;
+            }
+        }
+    }
+
+    // Zoom at which the widest page fills the given width
+    public int zoomToFitWidth(int width) {
+        int widest = 1;
+        for (int page = 0; page < renderer.getPageCount(); page++) {
+            widest = Math.max(widest, renderer.getPageWidth(page, 100));
+        }
+        return Math.max(ZOOM_LEVELS[0], Math.min(ZOOM_LEVELS[ZOOM_LEVELS.length - 1], (width - 2 * GAP) * 100 / widest));
+    }
+
+    public Rectangle getPageBounds(int page) {
+        int y = GAP;
+        for (int i = 0; i < page; i++) {
+            y += renderer.getPageHeight(i, zoomPercent) + GAP;
+        }
+        int width = renderer.getPageWidth(page, zoomPercent);
+        return new Rectangle((getWidth() - width) / 2, y, width, renderer.getPageHeight(page, zoomPercent));
+    }
+
+    @Override
+    public Dimension getPreferredSize() {
+        int width = 0;
+        int height = GAP;
+        for (int page = 0; page < renderer.getPageCount(); page++) {
+            width = Math.max(width, renderer.getPageWidth(page, zoomPercent));
+            height += renderer.getPageHeight(page, zoomPercent) + GAP;
+        }
+        return new Dimension(width + 2 * GAP, height);
+    }
+
+    @Override
+    protected void paintComponent(Graphics g) {
+        Rectangle clip = g.getClipBounds();
+        g.setColor(getBackground());
+        g.fillRect(clip.x, clip.y, clip.width, clip.height);
+
+        long inlineDeadline = System.nanoTime() + FRAME_BUDGET_NANOS;
+        int zoom = zoomPercent;
+        int tile = PreviewTileRenderer.TILE_SIZE;
+        for (int page = 0; page < renderer.getPageCount(); page++) {
+            Rectangle bounds = getPageBounds(page);
+            Rectangle visible = bounds.intersection(clip);
+            if (visible.isEmpty()) continue;
+
+            int firstColumn = (visible.x - bounds.x) / tile;
+            int lastColumn = (visible.x + visible.width - 1 - bounds.x) / tile;
+            int firstRow = (visible.y - bounds.y) / tile;
+            int lastRow = (visible.y + visible.height - 1 - bounds.y) / tile;
+            for (int row = firstRow; row <= lastRow; row++) {
+                for (int column = firstColumn; column <= lastColumn; column++) {
+                    int x = bounds.x + column * tile;
+                    int y = bounds.y + row * tile;
+                    BufferedImage image = renderer.getTile(page, zoom, column, row, inlineDeadline, () -> SwingUtilities.invokeLater(this::repaint));
+                    if (image != null) {
+                        g.drawImage(image, x, y, null);
+                    } else {
+                        paintPlaceholder(g, page, bounds, x, y, Math.min(tile, bounds.x + bounds.width - x), Math.min(tile, bounds.y + bounds.height - y));
+                    }
+                }
+            }
+        }
+    }
+
+    // Stretches the matching part of the low-DPI thumbnail over a tile that hasn't been rendered yet
+    private void paintPlaceholder(Graphics g, int page, Rectangle bounds, int x, int y, int width, int height) {
+        if (page >= thumbnails.size()) {
+            g.setColor(Color.WHITE);
+            g.fillRect(x, y, width, height);
+            return;
+        }
+        BufferedImage thumbnail = thumbnails.get(page);
+        double scaleX = (double) thumbnail.getWidth() / bounds.width;
+        double scaleY = (double) thumbnail.getHeight() / bounds.height;
+        int sx = (int) ((x - bounds.x) * scaleX);
+        int sy = (int) ((y - bounds.y) * scaleY);
+        g.drawImage(thumbnail, x, y, x + width, y + height, sx, sy,
+                Math.max(sx + 1, (int) Math.ceil((x - bounds.x + width) * scaleX)),
+                Math.max(sy + 1, (int) Math.ceil((y - bounds.y + height) * scaleY)), null);
+    }
+}
@@ -3,10 +3,11 @@ package com.resumebuilder.view;
 import com.resumebuilder.model.WorkExperience;
 import javax.swing.*;
 import java.awt.*;
+import java.util.function.BiConsumer;
 
 public class WorkExperiencePanel extends JPanel {
     private WorkExperience data;
-    private JTextArea textArea;
+    private EntryListEditor editor;
 
     public WorkExperiencePanel(WorkExperience data) {
         this.data = data;
@@ -27,14 +28,23 @@ public class WorkExperiencePanel extends JPanel {
         gbc.gridy = 1;
         gbc.gridwidth = 2;
         gbc.fill = GridBagConstraints.BOTH;
-        textArea = new JTextArea(5, 25);
-        textArea.setLineWrap(true);
-        textArea.setWrapStyleWord(true);
-        JScrollPane scrollPane = new JScrollPane(textArea);
-        add(scrollPane, gbc);
+        editor = new EntryListEditor(true);
+        add(editor, gbc);
+    }
+
+    public void commitPending() {
+        editor.commitPending();
     }
 
     public void updateData() {
-        data.setText(textArea.getText());
+        data.setEntries(editor.getEntries());
+    }
+
+    public void refresh() {
+        editor.setEntries(data.getEntries());
+    }
+
+    public void addFieldListener(BiConsumer<String, String> listener) {
+        editor.addChangeListener(() -> listener.accept("workExperience", String.join("\n", editor.getEntries())));
     }
 }
\ No newline at end of file